@@ -0,0 +1,47 @@
+package com.example.todoapplication.reactive;
+
+import com.example.todoapplication.security.JwtService;
+import com.example.todoapplication.security.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// The AuthTokenFilter rules without blocking: one verified parse, then the principal from the token
+// (stateless mode, checked against the current epoch) or from the database
+@Component
+public class JwtAuthenticationManager implements ReactiveAuthenticationManager {
+    private final JwtService jwtService;
+    private final ReactiveUserRepository userRepository;
+
+    public JwtAuthenticationManager(JwtService jwtService, ReactiveUserRepository userRepository) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        String jwt = (String) authentication.getCredentials();
+        return Mono.fromCallable(() -> jwtService.extractAllClaims(jwt))
+                .onErrorMap(JwtException.class, e -> new BadCredentialsException("Invalid token", e))
+                .flatMap(claims -> loadPrincipal(claims)
+                        .filter(principal -> jwtService.isTokenValid(claims, principal)))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid token")))
+                .map(principal -> UsernamePasswordAuthenticationToken.authenticated(
+                        principal, null, principal.getAuthorities()));
+    }
+
+    private Mono<UserDetailsImpl> loadPrincipal(Claims claims) {
+        UserDetailsImpl principal = jwtService.extractPrincipal(claims);
+        if (principal != null) {
+            return userRepository.findTokenEpochById(principal.getId())
+                    .filter(epoch -> epoch == principal.getTokenEpoch())
+                    .map(epoch -> principal);
+        }
+        return userRepository.findPrincipalByUsername(claims.getSubject());
+    }
+}
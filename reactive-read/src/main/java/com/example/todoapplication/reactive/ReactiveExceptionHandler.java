@@ -0,0 +1,39 @@
+package com.example.todoapplication.reactive;
+
+import com.example.todoapplication.exception.CustomException;
+import com.example.todoapplication.exception.ErrorMessage;
+import com.example.todoapplication.exception.NotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.Date;
+
+// Same statuses and bodies as GlobalExceptionHandler in the main application, for the exceptions thrown here
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(CustomException.class)
+    public ResponseEntity<ErrorMessage> handleCustomException(CustomException ex, ServerWebExchange exchange) {
+        ErrorMessage message = new ErrorMessage(
+                HttpStatus.BAD_REQUEST.value(),
+                new Date(),
+                ex.getMessage(),
+                "uri=" + exchange.getRequest().getPath());
+
+        return new ResponseEntity<>(message, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<ErrorMessage> handleNotFoundException(NotFoundException ex, ServerWebExchange exchange) {
+        ErrorMessage message = new ErrorMessage(
+                HttpStatus.NOT_FOUND.value(),
+                new Date(),
+                ex.getMessage(),
+                "uri=" + exchange.getRequest().getPath());
+
+        return new ResponseEntity<>(message, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.todoapplication.reactive;
+
+import com.example.todoapplication.security.JwtService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+// Serves GET /api/tasks, /api/tasks/{id} and /api/tasks/user/{userId} on a few event-loop threads, against
+// the same database and with the same tokens as the main application. Everything else stays there.
+@SpringBootApplication
+@Import(JwtService.class)
+public class ReactiveReadApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveReadApplication.class, args);
+    }
+}
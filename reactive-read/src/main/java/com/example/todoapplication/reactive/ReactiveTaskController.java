@@ -0,0 +1,54 @@
+package com.example.todoapplication.reactive;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.exception.CustomException;
+import com.example.todoapplication.exception.NotFoundException;
+import com.example.todoapplication.security.UserDetailsImpl;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read-only mirror of TaskController's plain listings with the same role, ownership and error rules.
+// Filters, paging and ETags are only served by the main application.
+@RestController
+@RequestMapping("/api/tasks")
+public class ReactiveTaskController {
+    private final ReactiveTaskRepository taskRepository;
+
+    public ReactiveTaskController(ReactiveTaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Flux<TaskResponse> getAllTasks(@AuthenticationPrincipal UserDetailsImpl principal) {
+        return isAdmin(principal) ? taskRepository.findAll() : taskRepository.findByUserId(principal.getId());
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Mono<TaskResponse> getTaskById(@PathVariable Long id,
+                                          @AuthenticationPrincipal UserDetailsImpl principal) {
+        return taskRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Task not found with id: " + id)))
+                .flatMap(task -> isAdmin(principal) || task.getUserId().equals(principal.getId())
+                        ? Mono.just(task)
+                        : Mono.error(new CustomException("You don't have permission to access this task")));
+    }
+
+    @GetMapping("/user/{userId}")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    public Flux<TaskResponse> getTasksByUserId(@PathVariable Long userId) {
+        return taskRepository.findByUserId(userId);
+    }
+
+    private boolean isAdmin(UserDetailsImpl principal) {
+        return principal.getAuthorities().stream()
+                .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("ROLE_ADMIN"));
+    }
+}
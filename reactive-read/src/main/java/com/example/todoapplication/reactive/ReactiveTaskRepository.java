@@ -0,0 +1,59 @@
+package com.example.todoapplication.reactive;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Same rows as the main application's TaskResponse queries: tasks JOIN users, deleted users hidden
+@Repository
+public class ReactiveTaskRepository {
+    private static final String SELECT_TASKS = "SELECT t.id, t.title, t.description, t.completed, t.created_at, " +
+            "t.updated_at, t.due_date, u.id AS user_id, u.username, t.version " +
+            "FROM tasks t JOIN users u ON u.id = t.user_id WHERE u.deleted_at IS NULL ";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveTaskRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<TaskResponse> findAll() {
+        return databaseClient.sql(SELECT_TASKS + "ORDER BY t.id")
+                .map(ReactiveTaskRepository::toResponse)
+                .all();
+    }
+
+    public Flux<TaskResponse> findByUserId(Long userId) {
+        return databaseClient.sql(SELECT_TASKS + "AND t.user_id = :userId ORDER BY t.id")
+                .bind("userId", userId)
+                .map(ReactiveTaskRepository::toResponse)
+                .all();
+    }
+
+    public Mono<TaskResponse> findById(Long taskId) {
+        return databaseClient.sql(SELECT_TASKS + "AND t.id = :taskId")
+                .bind("taskId", taskId)
+                .map(ReactiveTaskRepository::toResponse)
+                .one();
+    }
+
+    private static TaskResponse toResponse(Readable row) {
+        return new TaskResponse(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                Boolean.TRUE.equals(row.get("completed", Boolean.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class),
+                row.get("due_date", LocalDate.class),
+                row.get("user_id", Long.class),
+                row.get("username", String.class),
+                row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.todoapplication.reactive;
+
+import com.example.todoapplication.security.UserDetailsImpl;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Repository
+public class ReactiveUserRepository {
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // User and roles in one statement, like UserRepository.findWithRolesByUsername; one row per role
+    public Mono<UserDetailsImpl> findPrincipalByUsername(String username) {
+        return databaseClient.sql("SELECT u.id, u.username, u.email, u.password, u.token_epoch, r.name AS role " +
+                        "FROM users u LEFT JOIN user_roles ur ON ur.user_id = u.id " +
+                        "LEFT JOIN roles r ON r.id = ur.role_id " +
+                        "WHERE u.username = :username AND u.deleted_at IS NULL")
+                .bind("username", username)
+                .fetch()
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(ReactiveUserRepository::toPrincipal);
+    }
+
+    // Current token epoch of a live user, to check stateless tokens
+    public Mono<Integer> findTokenEpochById(Long userId) {
+        return databaseClient.sql("SELECT token_epoch FROM users WHERE id = :userId AND deleted_at IS NULL")
+                .bind("userId", userId)
+                .map(row -> row.get("token_epoch", Integer.class))
+                .one();
+    }
+
+    private static UserDetailsImpl toPrincipal(List<Map<String, Object>> rows) {
+        Map<String, Object> user = rows.get(0);
+        List<GrantedAuthority> authorities = rows.stream()
+                .map(row -> row.get("role"))
+                .filter(Objects::nonNull)
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new UserDetailsImpl(
+                ((Number) user.get("id")).longValue(),
+                (String) user.get("username"),
+                (String) user.get("email"),
+                (String) user.get("password"),
+                authorities,
+                ((Number) user.get("token_epoch")).intValue());
+    }
+}
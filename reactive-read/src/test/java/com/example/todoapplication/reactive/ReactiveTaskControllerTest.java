@@ -0,0 +1,74 @@
+package com.example.todoapplication.reactive;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.security.JwtService;
+import com.example.todoapplication.security.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+class ReactiveTaskControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void usersListOnlyTheirOwnTasks() {
+        assertThat(taskIds("/api/tasks", "alice")).containsExactly(10L, 11L);
+    }
+
+    @Test
+    void adminsListEveryLiveUsersTasks() {
+        assertThat(taskIds("/api/tasks", "admin")).containsExactly(10L, 11L, 20L);
+        assertThat(taskIds("/api/tasks/user/2", "admin")).containsExactly(20L);
+    }
+
+    // Same statuses as TaskController.getTaskById: 400 for someone else's task, 404 for a missing one
+    @Test
+    void singleTaskFollowsTheOwnershipRules() {
+        get("/api/tasks/10", "alice").expectStatus().isOk()
+                .expectBody().jsonPath("$.title").isEqualTo("Alice one");
+        get("/api/tasks/20", "alice").expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("You don't have permission to access this task");
+        get("/api/tasks/99", "alice").expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Task not found with id: 99");
+        get("/api/tasks/20", "admin").expectStatus().isOk();
+        get("/api/tasks/40", "admin").expectStatus().isNotFound();
+    }
+
+    @Test
+    void otherUsersListsAreForbidden() {
+        get("/api/tasks/user/2", "alice").expectStatus().isForbidden();
+    }
+
+    @Test
+    void requestsWithoutValidTokenOrLiveUserAreRejected() {
+        webTestClient.get().uri("/api/tasks").exchange().expectStatus().isUnauthorized();
+        webTestClient.get().uri("/api/tasks").header("Authorization", "Bearer not-a-token")
+                .exchange().expectStatus().isUnauthorized();
+        get("/api/tasks", "gone").expectStatus().isUnauthorized();
+    }
+
+    private List<Long> taskIds(String uri, String username) {
+        return get(uri, username).expectStatus().isOk()
+                .expectBodyList(TaskResponse.class).returnResult().getResponseBody().stream()
+                .map(TaskResponse::getId)
+                .toList();
+    }
+
+    private WebTestClient.ResponseSpec get(String uri, String username) {
+        String token = jwtService.generateToken(new UserDetailsImpl(null, username, null, null, List.of()));
+        return webTestClient.get().uri(uri).header("Authorization", "Bearer " + token).exchange();
+    }
+}
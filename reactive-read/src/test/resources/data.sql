@@ -0,0 +1,12 @@
+INSERT INTO roles (id, name) VALUES (1, 'ROLE_USER'), (2, 'ROLE_ADMIN');
+INSERT INTO users (id, username, email, password) VALUES
+    (1, 'alice', 'alice@example.com', 'x'),
+    (2, 'bob', 'bob@example.com', 'x'),
+    (3, 'admin', 'admin@example.com', 'x');
+INSERT INTO users (id, username, email, password, deleted_at) VALUES (4, 'gone', 'gone@example.com', 'x', CURRENT_TIMESTAMP);
+INSERT INTO user_roles (user_id, role_id) VALUES (1, 1), (2, 1), (3, 2), (4, 1);
+INSERT INTO tasks (id, title, completed, created_at, user_id) VALUES
+    (10, 'Alice one', FALSE, CURRENT_TIMESTAMP, 1),
+    (11, 'Alice two', TRUE, CURRENT_TIMESTAMP, 1),
+    (20, 'Bob one', FALSE, CURRENT_TIMESTAMP, 2),
+    (40, 'Gone one', FALSE, CURRENT_TIMESTAMP, 4);
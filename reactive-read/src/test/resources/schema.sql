@@ -0,0 +1,27 @@
+CREATE TABLE users (
+    id BIGINT PRIMARY KEY,
+    username VARCHAR(20) NOT NULL,
+    email VARCHAR(50) NOT NULL,
+    password VARCHAR(120) NOT NULL,
+    token_epoch INT DEFAULT 0 NOT NULL,
+    deleted_at TIMESTAMP
+);
+CREATE TABLE roles (
+    id INT PRIMARY KEY,
+    name VARCHAR(20)
+);
+CREATE TABLE user_roles (
+    user_id BIGINT NOT NULL,
+    role_id INT NOT NULL
+);
+CREATE TABLE tasks (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    completed BOOLEAN NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    due_date DATE,
+    user_id BIGINT NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL
+);
@@ -0,0 +1,32 @@
+#!/usr/bin/env bash
+# Compares platform and virtual request threads on GET /api/tasks with a simulated slow database
+# (bench profile: 20 ms per statement, 10 pooled connections). Needs Java 21 and the PostgreSQL
+# database configured in application.properties.
+#
+# Usage: scripts/thread-benchmark.sh [concurrency] [seconds]
+set -euo pipefail
+
+CONCURRENCY=${1:-1000}
+DURATION=${2:-30}
+PORT=${PORT:-8080}
+cd "$(dirname "$0")/.."
+
+mvn -B -q -DskipTests package dependency:build-classpath -Dmdep.outputFile=target/bench.classpath
+JAR=$(ls target/todoapplication-*-exec.jar)
+
+for PROFILES in bench bench,virtual-threads; do
+    java -jar "$JAR" --spring.profiles.active="$PROFILES" --server.port="$PORT" > "target/bench-$PROFILES.log" 2>&1 &
+    APP=$!
+    trap 'kill $APP 2>/dev/null || true' EXIT
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        kill -0 "$APP" 2>/dev/null || { echo "Application failed to start, see target/bench-$PROFILES.log"; exit 1; }
+        sleep 1
+    done
+
+    java -cp "target/test-classes:target/classes:$(cat target/bench.classpath)" \
+        com.example.todoapplication.controller.TaskListLoadBenchmark \
+        "http://localhost:$PORT" "$CONCURRENCY" "$DURATION" "$PROFILES"
+
+    kill "$APP"
+    wait "$APP" 2>/dev/null || true
+done
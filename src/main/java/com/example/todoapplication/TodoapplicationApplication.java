@@ -3,8 +3,10 @@ package com.example.todoapplication;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
 @EntityScan("com.example.todoapplication.model")
+@EnableScheduling
 public class TodoapplicationApplication {
 
     public static void main(String[] args) {
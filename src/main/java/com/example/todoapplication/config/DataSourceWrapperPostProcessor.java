@@ -0,0 +1,76 @@
+package com.example.todoapplication.config;
+
+import com.example.todoapplication.sql.SqlStatisticsDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Wraps the pool: simulated latency innermost (so slow statements hold their connection and permit),
+// then per-request SQL statistics, the concurrency limit outermost. All three are off by default.
+@Component
+public class DataSourceWrapperPostProcessor implements BeanPostProcessor {
+    private final boolean limitEnabled;
+    private final int permits;
+    private final Duration acquireTimeout;
+    private final Duration simulatedLatency;
+    private final boolean sqlStatsEnabled;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public DataSourceWrapperPostProcessor(@Value("${app.datasource.concurrency-limit.enabled:false}") boolean limitEnabled,
+                                          @Value("${app.datasource.concurrency-limit.permits:0}") int permits,
+                                          @Value("${app.datasource.concurrency-limit.acquire-timeout:PT10S}") Duration acquireTimeout,
+                                          @Value("${app.datasource.simulated-latency:PT0S}") Duration simulatedLatency,
+                                          @Value("${app.sql-stats.enabled:false}") boolean sqlStatsEnabled,
+                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this.limitEnabled = limitEnabled;
+        this.permits = permits;
+        this.acquireTimeout = acquireTimeout;
+        this.simulatedLatency = simulatedLatency;
+        this.sqlStatsEnabled = sqlStatsEnabled;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource || bean instanceof SlowDataSource
+                || bean instanceof SqlStatisticsDataSource) {
+            return bean;
+        }
+        DataSource wrapped = dataSource;
+        if (!simulatedLatency.isZero()) {
+            wrapped = new SlowDataSource(wrapped, simulatedLatency);
+        }
+        if (sqlStatsEnabled) {
+            wrapped = new SqlStatisticsDataSource(wrapped);
+        }
+        if (limitEnabled) {
+            // By default exactly as many callers as the pool has connections
+            int limit = permits > 0 ? permits
+                    : dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            Timer waitTimer = registry == null ? null : Timer.builder("datasource.permits.wait")
+                    .description("Time spent waiting for a database permit, before the pool's own acquire")
+                    .publishPercentileHistogram()
+                    .register(registry);
+            BoundedDataSource bounded = new BoundedDataSource(wrapped, limit, acquireTimeout, waitTimer);
+            if (registry != null) {
+                Gauge.builder("datasource.permits.available", bounded, BoundedDataSource::getAvailablePermits)
+                        .description("Free database permits")
+                        .register(registry);
+                Gauge.builder("datasource.permits.waiting", bounded, BoundedDataSource::getQueueLength)
+                        .description("Callers waiting for a database permit")
+                        .register(registry);
+            }
+            wrapped = bounded;
+        }
+        return wrapped;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.todoapplication.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// Benchmarks only: every statement execution waits for latency first, while holding its connection,
+// to simulate a slow or distant database without changing the queries
+public class SlowDataSource extends DelegatingDataSource {
+    private final long latencyMs;
+
+    public SlowDataSource(DataSource targetDataSource, Duration latency) {
+        super(targetDataSource);
+        this.latencyMs = latency.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return slowConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return slowConnection(super.getConnection(username, password));
+    }
+
+    private Connection slowConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    // prepareStatement, prepareCall and createStatement hand out statements to slow down
+                    if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                        return slowStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private Object slowStatement(Statement statement, Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        Thread.sleep(latencyMs);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
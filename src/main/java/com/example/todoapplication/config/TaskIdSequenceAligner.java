@@ -0,0 +1,45 @@
+package com.example.todoapplication.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Task ids used to come from an IDENTITY column. The pooled tasks_seq that replaced it is moved past the
+// highest existing id (plus one allocation) before the first insert, and never moved backwards.
+// Depends on the EntityManagerFactory so the schema update has created the sequence by then. The SQL is
+// PostgreSQL's; other databases (H2 in tests) never had the IDENTITY ids and are left alone.
+@Component
+public class TaskIdSequenceAligner {
+    private static final Logger logger = LoggerFactory.getLogger(TaskIdSequenceAligner.class);
+    private static final String ALIGN_SQL =
+            "SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks) + " +
+            "(SELECT increment_by FROM pg_sequences WHERE sequencename = 'tasks_seq'), " +
+            "(SELECT last_value FROM tasks_seq)))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskIdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            logger.debug("tasks_seq alignment skipped on {}", database);
+            return;
+        }
+        try {
+            Long value = jdbcTemplate.queryForObject(ALIGN_SQL, Long.class);
+            logger.info("tasks_seq aligned at {}", value);
+        } catch (DataAccessException e) {
+            logger.warn("Could not align tasks_seq with existing task ids: {}", e.getMessage());
+        }
+    }
+}
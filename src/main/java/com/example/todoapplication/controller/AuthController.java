@@ -2,10 +2,13 @@ package com.example.todoapplication.controller;
 
 import com.example.todoapplication.dto.request.LoginRequest;
 import com.example.todoapplication.dto.request.SignupRequest;
+import com.example.todoapplication.dto.request.TokenRefreshRequest;
 import com.example.todoapplication.dto.response.JwtResponse;
 import com.example.todoapplication.dto.response.MessageResponse;
+import com.example.todoapplication.exception.CustomException;
 import com.example.todoapplication.security.JwtService;
 import com.example.todoapplication.security.UserDetailsImpl;
+import com.example.todoapplication.service.RefreshTokenService;
 import com.example.todoapplication.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -26,11 +29,14 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final UserService userService;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthController(AuthenticationManager authenticationManager, UserService userService, JwtService jwtService) {
+    public AuthController(AuthenticationManager authenticationManager, UserService userService, JwtService jwtService,
+                          RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
         this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/signin")
@@ -46,24 +52,29 @@ public class AuthController {
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(new JwtResponse(jwt,
+        JwtResponse response = new JwtResponse(jwt,
                 userDetails.getId(),
                 userDetails.getUsername(),
                 userDetails.getEmail(),
-                roles));
+                roles);
+        response.setRefreshToken(refreshTokenService.createRefreshToken(userDetails.getId()));
+        return ResponseEntity.ok(response);
+    }
+
+    // Trades a refresh token for a new access token (and a new refresh token) without re-checking the password
+    @PostMapping("/refresh")
+    public ResponseEntity<JwtResponse> refreshToken(@Valid @RequestBody TokenRefreshRequest refreshRequest) {
+        return ResponseEntity.ok(refreshTokenService.refresh(refreshRequest.getRefreshToken()));
     }
 
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-        if (userService.existsByUsername(signUpRequest.getUsername())) {
-            return ResponseEntity.badRequest().body(new MessageResponse("Error: Username is already taken!"));
+        // Duplicate usernames and emails are reported by the insert itself, with the same messages as before
+        try {
+            userService.registerUser(signUpRequest);
+        } catch (CustomException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         }
-
-        if (userService.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity.badRequest().body(new MessageResponse("Error: Email is already in use!"));
-        }
-
-        userService.registerUser(signUpRequest);
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
 }
@@ -1,61 +1,171 @@
 package com.example.todoapplication.controller;
 
+import com.example.todoapplication.dto.request.BulkTaskRequest;
+import com.example.todoapplication.dto.request.TaskFilterRequest;
 import com.example.todoapplication.dto.request.TaskRequest;
+import com.example.todoapplication.dto.response.BulkTaskResponse;
+import com.example.todoapplication.dto.response.TaskImportResponse;
 import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.dto.response.TaskSummaryResponse;
 import com.example.todoapplication.exception.CustomException;
+import com.example.todoapplication.exception.NotFoundException;
 import com.example.todoapplication.model.Task;
 import com.example.todoapplication.model.User;
 import com.example.todoapplication.repository.UserRepository;
 import com.example.todoapplication.security.UserDetailsImpl;
+import com.example.todoapplication.service.OverdueTaskService;
 import com.example.todoapplication.service.TaskService;
+import com.example.todoapplication.service.TaskSummaryService;
+import com.example.todoapplication.version.TaskVersionTracker;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
+    // Clients may keep responses but have to revalidate them (If-None-Match) before every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TaskService taskService;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskVersionTracker taskVersionTracker;
+    private final TaskSummaryService taskSummaryService;
+    private final OverdueTaskService overdueTaskService;
 
-    public TaskController(TaskService taskService, UserRepository userRepository) {
+    public TaskController(TaskService taskService, UserRepository userRepository, ObjectMapper objectMapper,
+                          TaskVersionTracker taskVersionTracker, TaskSummaryService taskSummaryService,
+                          OverdueTaskService overdueTaskService) {
         this.taskService = taskService;
         this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.taskVersionTracker = taskVersionTracker;
+        this.taskSummaryService = taskSummaryService;
+        this.overdueTaskService = overdueTaskService;
     }
 
+    // With filters, cursor, limit or sort the listing is filtered server-side and keyset-paginated;
+    // without any of them the full list is returned as before
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<TaskResponse>> getAllTasks(Authentication authentication) {
-        List<Task> tasks;
+    public ResponseEntity<?> getAllTasks(
+            @ModelAttribute TaskFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            Authentication authentication,
+            ServletWebRequest webRequest) {
+        String etag = eTag(webRequest, authentication);
+        if (notModified(webRequest, etag)) {
+            return notModifiedResponse(etag);
+        }
+
+        if (isPageRequest(filter, cursor, limit, sort)) {
+            Long scopeUserId = isAdmin(authentication) ? null : getCurrentUserId(authentication);
+            return okWithETag(etag, taskService.findPage(scopeUserId, filter, sort, cursor, limit));
+        }
+
+        List<TaskResponse> taskResponses;
         if (isAdmin(authentication)) {
-            tasks = taskService.findAll();
+            taskResponses = taskService.getAllTasks();
         } else {
-            tasks = taskService.findByUserId(getCurrentUserId(authentication));
+            taskResponses = taskService.getAllTasksByUserId(getCurrentUserId(authentication));
         }
 
-        List<TaskResponse> taskResponses = tasks.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return okWithETag(etag, taskResponses);
+    }
+
+    // Admin export of every task: array elements are written to the response as rows arrive from the cursor
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                taskService.streamAllTasks(task -> {
+                    try {
+                        generator.writeObject(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    // Ranked full-text search over the caller's task titles and descriptions (prefix matching)
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<TaskResponse>> searchTasks(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        return ResponseEntity.ok(taskService.searchTasks(getCurrentUserId(authentication), query, limit));
+    }
+
+    // Dashboard counters for the current user, read from the incrementally maintained summary tables
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<TaskSummaryResponse> getTaskSummary(Authentication authentication) {
+        return ResponseEntity.ok(taskSummaryService.getSummary(getCurrentUserId(authentication)));
+    }
+
+    // Open tasks of the current user that are past their due date, oldest first
+    @GetMapping("/overdue")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<TaskResponse>> getOverdueTasks(Authentication authentication) {
+        return ResponseEntity.ok(overdueTaskService.getOverdueTasks(getCurrentUserId(authentication)));
+    }
 
-        return ResponseEntity.ok(taskResponses);
+    @GetMapping("/user/{userId}/summary")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    public ResponseEntity<TaskSummaryResponse> getTaskSummaryByUserId(@PathVariable Long userId) {
+        return ResponseEntity.ok(taskSummaryService.getSummary(userId));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id, Authentication authentication,
+                                                    ServletWebRequest webRequest) {
+        // Tasks never change owner, so a user's own version also covers the ownership check done for the original 200
+        String etag = eTag(webRequest, authentication);
+        if (notModified(webRequest, etag)) {
+            return notModifiedResponse(etag);
+        }
+
         Task task = taskService.findById(id)
-                .orElseThrow(() -> new CustomException("Task not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Task not found with id: " + id));
 
         if (!isAdmin(authentication)) {
             checkTaskOwnership(task, authentication);
         }
 
-        return ResponseEntity.ok(convertToResponse(task));
+        return okWithETag(etag, convertToResponse(task));
     }
 
     @PostMapping
@@ -79,6 +189,35 @@ public class TaskController {
         return ResponseEntity.ok(convertToResponse(createdTask));
     }
 
+    // Imports a JSON array or an NDJSON stream of tasks for the current user in one transaction;
+    // every item gets a result with its index and either the new id or the validation error
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TaskImportResponse> importTasks(HttpServletRequest request,
+                                                          Authentication authentication) throws IOException {
+        try (MappingIterator<TaskRequest> values = objectMapper.readerFor(TaskRequest.class)
+                .readValues(request.getInputStream())) {
+            return ResponseEntity.ok(taskService.importTasks(getCurrentUserId(authentication), readTaskRequests(values)));
+        }
+    }
+
+    // Set-based actions ("mark all done", "clear completed"): one statement each, scoped to the caller's tasks
+    @PostMapping("/bulk/complete")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BulkTaskResponse> setTasksCompleted(@Valid @RequestBody BulkTaskRequest bulkRequest,
+                                                              Authentication authentication) {
+        return ResponseEntity.ok(new BulkTaskResponse(taskService.setCompleted(
+                getCurrentUserId(authentication), bulkRequest.getIds(), bulkRequest.isCompleted())));
+    }
+
+    @PostMapping("/bulk/delete")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<BulkTaskResponse> deleteTasks(@Valid @RequestBody BulkTaskRequest bulkRequest,
+                                                        Authentication authentication) {
+        return ResponseEntity.ok(new BulkTaskResponse(
+                taskService.deleteTasks(getCurrentUserId(authentication), bulkRequest.getIds())));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<TaskResponse> updateTask(
@@ -86,7 +225,7 @@ public class TaskController {
             @RequestBody TaskRequest taskRequest,
             Authentication authentication) {
         Task existingTask = taskService.findById(id)
-                .orElseThrow(() -> new CustomException("Task not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Task not found with id: " + id));
 
         if (!isAdmin(authentication)) {
             checkTaskOwnership(existingTask, authentication);
@@ -95,27 +234,44 @@ public class TaskController {
         existingTask.setTitle(taskRequest.getTitle());
         existingTask.setDescription(taskRequest.getDescription());
         existingTask.setCompleted(taskRequest.isCompleted());
+        existingTask.setDueDate(taskRequest.getDueDate());
 
         Task updatedTask = taskService.save(existingTask);
         return ResponseEntity.ok(convertToResponse(updatedTask));
     }
 
+    // Partial update: only the members present in the JSON Merge Patch are written
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<TaskResponse> patchTask(
+            @PathVariable Long id,
+            @RequestBody JsonNode mergePatch,
+            Authentication authentication) {
+        Long ownerId = isAdmin(authentication)
+                ? taskService.findOwnerId(id).orElseThrow(() -> new NotFoundException("Task not found with id: " + id))
+                : getCurrentUserId(authentication);
+        return ResponseEntity.ok(taskService.patchTask(id, ownerId, mergePatch));
+    }
+
     @PatchMapping("/{id}/complete")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<TaskResponse> markTaskAsComplete(
             @PathVariable Long id,
             @RequestParam boolean completed,
             Authentication authentication) {
-        Task existingTask = taskService.findById(id)
-                .orElseThrow(() -> new CustomException("Task not found with id: " + id));
-
-        if (!isAdmin(authentication)) {
-            checkTaskOwnership(existingTask, authentication);
-        }
+        // Users write in one ownership-scoped statement; admins act as the task's owner
+        Long ownerId = isAdmin(authentication)
+                ? taskService.findOwnerId(id).orElseThrow(() -> new NotFoundException("Task not found with id: " + id))
+                : getCurrentUserId(authentication);
+        return ResponseEntity.ok(taskService.setTaskCompleted(id, ownerId, completed));
+    }
 
-        existingTask.setCompleted(completed);
-        Task updatedTask = taskService.save(existingTask);
-        return ResponseEntity.ok(convertToResponse(updatedTask));
+    @PatchMapping("/{id}/toggle")
+    @PreAuthorize("hasRole('USER')")
+    public ResponseEntity<TaskResponse> toggleTaskCompletion(
+            @PathVariable Long id,
+            Authentication authentication) {
+        return ResponseEntity.ok(taskService.toggleTaskCompletion(id, getCurrentUserId(authentication)));
     }
 
     @DeleteMapping("/{id}")
@@ -124,7 +280,7 @@ public class TaskController {
             @PathVariable Long id,
             Authentication authentication) {
         Task task = taskService.findById(id)
-                .orElseThrow(() -> new CustomException("Task not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Task not found with id: " + id));
 
         if (!isAdmin(authentication)) {
             checkTaskOwnership(task, authentication);
@@ -144,7 +300,78 @@ public class TaskController {
                 task.getUpdatedAt(),
                 task.getDueDate(),
                 task.getUser().getId(),
-                task.getUser().getUsername());
+                task.getUser().getUsername(),
+                task.getVersion());
+    }
+
+    // Admins see every user's tasks and are validated against the global version, users against their own
+    private String eTag(ServletWebRequest webRequest, Authentication authentication) {
+        if (isAdmin(authentication)) {
+            return eTag(webRequest, "all", taskVersionTracker.globalVersion());
+        }
+        Long userId = getCurrentUserId(authentication);
+        return eTag(webRequest, "u" + userId, taskVersionTracker.userVersion(userId));
+    }
+
+    // Strong ETag built from the data version and the exact request URI. The version is read before the
+    // query, so a write racing with the query can only make the ETag older than the body, never newer.
+    private String eTag(ServletWebRequest webRequest, String scope, long version) {
+        String query = webRequest.getRequest().getQueryString();
+        String uri = query == null ? webRequest.getRequest().getRequestURI()
+                : webRequest.getRequest().getRequestURI() + "?" + query;
+        return "\"" + taskVersionTracker.getBootId() + "-" + scope + "-" + version + "-"
+                + Integer.toHexString(uri.hashCode()) + "\"";
+    }
+
+    // Checked before any query runs or anything is serialized. Unlike checkNotModified this writes no
+    // headers, so ETag and Cache-Control end up on the 200 or 304 only and never on an error response.
+    // A wildcard is not matched: "*" asks whether the resource exists, which is unknown before the lookup.
+    private static boolean notModified(ServletWebRequest webRequest, String etag) {
+        Enumeration<String> headers = webRequest.getRequest().getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals(etag) || tag.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModifiedResponse(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+    }
+
+    private static <T> ResponseEntity<T> okWithETag(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body);
+    }
+
+    // MappingIterator unwraps a root-level array and otherwise reads whitespace-separated values (NDJSON)
+    private Iterator<TaskRequest> readTaskRequests(MappingIterator<TaskRequest> values) {
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return values.hasNextValue();
+                } catch (IOException e) {
+                    throw new CustomException("Error: Invalid task list: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public TaskRequest next() {
+                try {
+                    return values.nextValue();
+                } catch (IOException e) {
+                    throw new CustomException("Error: Invalid task list: " + e.getMessage());
+                }
+            }
+        };
+    }
+
+    private boolean isPageRequest(TaskFilterRequest filter, String cursor, Integer limit, String sort) {
+        return !filter.isEmpty() || cursor != null || limit != null || sort != null;
     }
 
     private boolean isAdmin(Authentication authentication) {
@@ -164,15 +391,23 @@ public class TaskController {
     }
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
-    public ResponseEntity<List<TaskResponse>> getTasksByUserId(
+    public ResponseEntity<?> getTasksByUserId(
             @PathVariable Long userId,
-            Authentication authentication) {
+            @ModelAttribute TaskFilterRequest filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            Authentication authentication,
+            ServletWebRequest webRequest) {
+        String etag = eTag(webRequest, "u" + userId, taskVersionTracker.userVersion(userId));
+        if (notModified(webRequest, etag)) {
+            return notModifiedResponse(etag);
+        }
 
-        List<Task> tasks = taskService.findByUserId(userId);
-        List<TaskResponse> taskResponses = tasks.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        if (isPageRequest(filter, cursor, limit, sort)) {
+            return okWithETag(etag, taskService.findPage(userId, filter, sort, cursor, limit));
+        }
 
-        return ResponseEntity.ok(taskResponses);
+        return okWithETag(etag, taskService.getAllTasksByUserId(userId));
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.example.todoapplication.dto.response.UserResponse;
 import com.example.todoapplication.exception.CustomException;
 import com.example.todoapplication.model.User;
 import com.example.todoapplication.service.UserService;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -41,8 +42,10 @@ public class UserController {
         return convertToResponse(user);
     }
 
+    // 202: the account is disabled now, its tasks are purged in the background
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public void deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
     }
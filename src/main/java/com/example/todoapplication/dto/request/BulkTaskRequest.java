@@ -0,0 +1,32 @@
+package com.example.todoapplication.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkTaskRequest {
+    @NotEmpty(message = "Task ids cannot be empty")
+    @Size(max = 1000, message = "At most 1000 task ids per request")
+    private List<Long> ids;
+
+    // Target state for /bulk/complete; ignored by /bulk/delete
+    private boolean completed = true;
+
+    // Getters and Setters
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+}
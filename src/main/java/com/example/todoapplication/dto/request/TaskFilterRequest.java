@@ -0,0 +1,92 @@
+package com.example.todoapplication.dto.request;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Optional server-side filters for GET /api/tasks, bound from query parameters; all bounds are inclusive
+public class TaskFilterRequest {
+    private Boolean completed;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime updatedTo;
+
+    public boolean isEmpty() {
+        return completed == null && dueFrom == null && dueTo == null
+                && createdFrom == null && createdTo == null
+                && updatedFrom == null && updatedTo == null;
+    }
+
+    // Getters and Setters
+    public Boolean getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(Boolean completed) {
+        this.completed = completed;
+    }
+
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDate dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDate dueTo) {
+        this.dueTo = dueTo;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public LocalDateTime getUpdatedFrom() {
+        return updatedFrom;
+    }
+
+    public void setUpdatedFrom(LocalDateTime updatedFrom) {
+        this.updatedFrom = updatedFrom;
+    }
+
+    public LocalDateTime getUpdatedTo() {
+        return updatedTo;
+    }
+
+    public void setUpdatedTo(LocalDateTime updatedTo) {
+        this.updatedTo = updatedTo;
+    }
+}
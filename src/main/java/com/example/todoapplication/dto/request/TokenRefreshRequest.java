@@ -0,0 +1,17 @@
+package com.example.todoapplication.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class TokenRefreshRequest {
+    @NotBlank(message = "Refresh token cannot be blank")
+    private String refreshToken;
+
+    // Getters and Setters
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
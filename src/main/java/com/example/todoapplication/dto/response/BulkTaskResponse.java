@@ -0,0 +1,23 @@
+package com.example.todoapplication.dto.response;
+
+import java.util.List;
+
+public class BulkTaskResponse {
+    private List<Long> ids;
+
+    // Constructor
+    public BulkTaskResponse(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+
+    // Tasks the request actually changed: owned by the caller and, for completion, not already in that state
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
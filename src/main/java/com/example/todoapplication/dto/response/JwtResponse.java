@@ -10,6 +10,7 @@ public class JwtResponse {
     private String username;
     private String email;
     private List<String> roles;
+    private String refreshToken;
 
     // Constructor
     public JwtResponse(String token, Long id, String username, String email, List<String> roles) {
@@ -69,4 +70,12 @@ public class JwtResponse {
     public void setRoles(List<String> roles) {
         this.roles = roles;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
 }
@@ -0,0 +1,50 @@
+package com.example.todoapplication.dto.response;
+
+public class TaskImportItemResult {
+    private int index;
+    private Long id;
+    private String error;
+
+    // Constructor
+    public TaskImportItemResult(int index, Long id, String error) {
+        this.index = index;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static TaskImportItemResult imported(int index, Long id) {
+        return new TaskImportItemResult(index, id, null);
+    }
+
+    public static TaskImportItemResult rejected(int index, String error) {
+        return new TaskImportItemResult(index, null, error);
+    }
+
+    // Getters and Setters
+
+    // Position of the item in the submitted array or stream, starting at 0
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    // Id of the created task; null when the item was rejected
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todoapplication.dto.response;
+
+import java.util.List;
+
+public class TaskImportResponse {
+    private int imported;
+    private int rejected;
+    private List<TaskImportItemResult> results;
+
+    // Constructor
+    public TaskImportResponse(int imported, int rejected, List<TaskImportItemResult> results) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    // Getters and Setters
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<TaskImportItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<TaskImportItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todoapplication.dto.response;
+
+import java.util.List;
+
+public class TaskPageResponse {
+    private List<TaskResponse> items;
+    private String nextCursor;
+
+    // Constructor
+    public TaskPageResponse(List<TaskResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+
+    public List<TaskResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskResponse> items) {
+        this.items = items;
+    }
+
+    // Null when this is the last page
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
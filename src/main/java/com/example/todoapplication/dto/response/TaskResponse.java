@@ -13,9 +13,10 @@ public class TaskResponse {
     private LocalDate dueDate;
     private String username;
     private Long userId;
+    private Long version;
 
     // Constructor
-    public TaskResponse(Long id, String title, String description, boolean completed, LocalDateTime createdAt, LocalDateTime updatedAt, LocalDate dueDate, Long userId, String username) {
+    public TaskResponse(Long id, String title, String description, boolean completed, LocalDateTime createdAt, LocalDateTime updatedAt, LocalDate dueDate, Long userId, String username, Long version) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -25,6 +26,7 @@ public class TaskResponse {
         this.dueDate = dueDate;
         this.userId = userId;
         this.username = username;
+        this.version = version;
     }
 
     // Getters and Setters
@@ -96,4 +98,13 @@ public class TaskResponse {
     public void setUserId(Long userId) {
         this.userId = userId;
     }
+
+    // Send back as "version" in a PATCH to fail with 409 if the task changed since it was read
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,72 @@
+package com.example.todoapplication.dto.response;
+
+public class TaskSummaryResponse {
+    private Long userId;
+    private long total;
+    private long completed;
+    private long open;
+    private long overdue;
+    private long dueToday;
+
+    // Constructor
+    public TaskSummaryResponse(Long userId, long total, long completed, long overdue, long dueToday) {
+        this.userId = userId;
+        this.total = total;
+        this.completed = completed;
+        this.open = total - completed;
+        this.overdue = overdue;
+        this.dueToday = dueToday;
+    }
+
+    // Getters and Setters
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public void setOpen(long open) {
+        this.open = open;
+    }
+
+    // Open tasks whose due date is before today
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    // Open tasks due today
+    public long getDueToday() {
+        return dueToday;
+    }
+
+    public void setDueToday(long dueToday) {
+        this.dueToday = dueToday;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.todoapplication.event;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+
+// Published by TaskServiceImpl for every task write; listeners that keep derived state run after commit
+public class TaskChangedEvent {
+    public enum Type { SAVED, DELETED }
+
+    private final Type type;
+    private final Long userId;
+    private final Long taskId;
+    private final TaskResponse task;
+
+    private TaskChangedEvent(Type type, Long userId, Long taskId, TaskResponse task) {
+        this.type = type;
+        this.userId = userId;
+        this.taskId = taskId;
+        this.task = task;
+    }
+
+    public static TaskChangedEvent saved(TaskResponse task) {
+        return new TaskChangedEvent(Type.SAVED, task.getUserId(), task.getId(), task);
+    }
+
+    public static TaskChangedEvent deleted(Long userId, Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, userId, taskId, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    // State after the write; null for deletions
+    public TaskResponse getTask() {
+        return task;
+    }
+}
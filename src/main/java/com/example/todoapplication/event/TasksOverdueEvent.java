@@ -0,0 +1,19 @@
+package com.example.todoapplication.event;
+
+import com.example.todoapplication.repository.TaskRepository.OverdueTaskView;
+
+import java.util.List;
+
+// Published by OverdueTaskServiceImpl once per committed scan batch, with the tasks that batch marked overdue.
+// Every task is reported once: the mark is only cleared when the task is reopened or rescheduled.
+public class TasksOverdueEvent {
+    private final List<OverdueTaskView> tasks;
+
+    public TasksOverdueEvent(List<OverdueTaskView> tasks) {
+        this.tasks = List.copyOf(tasks);
+    }
+
+    public List<OverdueTaskView> getTasks() {
+        return tasks;
+    }
+}
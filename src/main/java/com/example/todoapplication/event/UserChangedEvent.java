@@ -0,0 +1,20 @@
+package com.example.todoapplication.event;
+
+// Published by UserServiceImpl when a user's profile changes or the user (and all their tasks) is deleted
+public class UserChangedEvent {
+    private final Long userId;
+    private final boolean deleted;
+
+    public UserChangedEvent(Long userId, boolean deleted) {
+        this.userId = userId;
+        this.deleted = deleted;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.todoapplication.exception;
+
+// A CustomException that maps to 409 instead of 400
+public class ConflictException extends CustomException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
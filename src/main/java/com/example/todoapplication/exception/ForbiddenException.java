@@ -0,0 +1,8 @@
+package com.example.todoapplication.exception;
+
+// A CustomException that maps to 403 instead of 400
+public class ForbiddenException extends CustomException {
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
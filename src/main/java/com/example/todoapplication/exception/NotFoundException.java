@@ -0,0 +1,8 @@
+package com.example.todoapplication.exception;
+
+// A CustomException that maps to 404 instead of 400
+public class NotFoundException extends CustomException {
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
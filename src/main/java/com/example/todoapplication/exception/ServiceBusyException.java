@@ -0,0 +1,15 @@
+package com.example.todoapplication.exception;
+
+// Thrown when a bounded resource is saturated; mapped to 503 with a Retry-After header
+public class ServiceBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.todoapplication.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Only the SHA-256 of a refresh token is stored; the raw value is handed to the client once
+@Entity
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "uk_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at"),
+                @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id")
+        })
+@Data
+@NoArgsConstructor
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public RefreshToken(String tokenHash, User user, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.user = user;
+        this.expiresAt = expiresAt;
+    }
+}
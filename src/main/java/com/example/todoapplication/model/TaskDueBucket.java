@@ -0,0 +1,36 @@
+package com.example.todoapplication.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Number of open tasks per user and due date; overdue and due-today counts are read from these rows
+@Entity
+@Table(name = "task_due_buckets")
+@IdClass(TaskDueBucket.Key.class)
+@Data
+@NoArgsConstructor
+public class TaskDueBucket {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "open_count", nullable = false)
+    private long openCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate dueDate;
+    }
+}
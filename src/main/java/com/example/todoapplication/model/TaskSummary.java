@@ -0,0 +1,22 @@
+package com.example.todoapplication.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-user task counters, kept in step with every task write by TaskSummaryService
+@Entity
+@Table(name = "task_summaries")
+@Data
+@NoArgsConstructor
+public class TaskSummary {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long completed;
+}
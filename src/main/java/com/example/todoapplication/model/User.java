@@ -5,19 +5,28 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "users",
         uniqueConstraints = {
-                @UniqueConstraint(columnNames = "username"),
-                @UniqueConstraint(columnNames = "email")
+                @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+                @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
         })
+// Deleted users are invisible to every entity query until UserPurgeService removes the row
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 public class User {
+    // Named so duplicate signups can be told apart when the insert fails
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,13 +44,23 @@ public class User {
     @Size(max = 120)
     private String password;
 
+    // Bumped whenever issued tokens must stop being honoured (role/credential change, deletion)
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private int tokenEpoch = 0;
+
+    // Set when the account is deleted; its tasks and the row itself are purged in the background
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
     private Set<Role> roles = new HashSet<>();
 
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    // No cascade: tasks are never loaded to delete a user, the purger removes them in chunks
+    @OneToMany(mappedBy = "user")
     private Set<Task> tasks = new HashSet<>();
 
     public User(String username, String email, String password) {
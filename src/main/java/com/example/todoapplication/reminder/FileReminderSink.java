@@ -0,0 +1,51 @@
+package com.example.todoapplication.reminder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Appends one JSON object per reminder to app.reminders.file
+@Component
+@ConditionalOnProperty(name = "app.reminders.sink", havingValue = "file")
+public class FileReminderSink implements ReminderSink {
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public FileReminderSink(ObjectMapper objectMapper,
+                            @Value("${app.reminders.file:reminders.log}") Path file) throws IOException {
+        this.objectMapper = objectMapper;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void send(Reminder reminder) {
+        try {
+            String line = objectMapper.writeValueAsString(reminder);
+            synchronized (writer) {
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.todoapplication.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSink implements ReminderSink {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void send(Reminder reminder) {
+        logger.info("Reminder for {}: task {} \"{}\" is due on {}",
+                reminder.getUsername(), reminder.getTaskId(), reminder.getTitle(), reminder.getDueDate());
+    }
+}
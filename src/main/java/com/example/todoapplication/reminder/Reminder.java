@@ -0,0 +1,47 @@
+package com.example.todoapplication.reminder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A due-soon reminder as handed to the ReminderSink
+public class Reminder {
+    private final Long taskId;
+    private final Long userId;
+    private final String username;
+    private final String title;
+    private final LocalDate dueDate;
+    private final LocalDateTime remindAt;
+
+    public Reminder(Long taskId, Long userId, String username, String title, LocalDate dueDate, LocalDateTime remindAt) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.username = username;
+        this.title = title;
+        this.dueDate = dueDate;
+        this.remindAt = remindAt;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getRemindAt() {
+        return remindAt;
+    }
+}
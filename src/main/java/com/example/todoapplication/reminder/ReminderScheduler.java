@@ -0,0 +1,248 @@
+package com.example.todoapplication.reminder;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.event.TaskChangedEvent;
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.TaskRepository.DueTaskView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Due-soon reminders: open tasks due within the horizon are loaded once in keyset batches and kept in a
+// timing wheel, then kept in step with task writes through the after-commit change events. The database is
+// only read again when the horizon moves forward (daily) and to re-check the tasks whose reminder fires.
+@Component
+public class ReminderScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+    private static final int WHEEL_SIZE = 64;
+
+    private final TaskRepository taskRepository;
+    private final ReminderSink reminderSink;
+    private final LocalTime timeOfDay;
+    private final Duration leadTime;
+    private final Period horizon;
+    private final int loadBatchSize;
+    private final long tickMs;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Counter sentReminders;
+
+    // The wheel holds task ids only; the due date is derived back from the expiration when a reminder fires
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel<Long> wheel;
+    private final Map<Long, TimingWheel.Entry<Long>> entriesByTaskId = new HashMap<>();
+    private LocalDate loadedUntil;
+
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService dispatcher;
+
+    public ReminderScheduler(TaskRepository taskRepository,
+                             ReminderSink reminderSink,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.reminders.time-of-day:09:00}") String timeOfDay,
+                             @Value("${app.reminders.lead-time:P1D}") Duration leadTime,
+                             @Value("${app.reminders.horizon:P30D}") Period horizon,
+                             @Value("${app.reminders.load-batch-size:1000}") int loadBatchSize,
+                             @Value("${app.reminders.tick:PT1S}") Duration tick) {
+        this.taskRepository = taskRepository;
+        this.reminderSink = reminderSink;
+        this.timeOfDay = LocalTime.parse(timeOfDay);
+        this.leadTime = leadTime;
+        this.horizon = horizon;
+        this.loadBatchSize = loadBatchSize;
+        this.tickMs = tick.toMillis();
+        this.wheel = new TimingWheel<>(tickMs, WHEEL_SIZE, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reminder-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Sinks may block on I/O: one virtual thread per delivery
+        this.dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+        this.sentReminders = Counter.builder("reminders.sent")
+                .description("Reminders handed to the sink")
+                .register(meterRegistry);
+        meterRegistry.gauge("reminders.pending", wheel, TimingWheel::size);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LocalDate today = LocalDate.now(zone);
+        loadWindow(today, today.plus(horizon));
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Pulls the next day(s) into the window as the horizon moves forward
+    @Scheduled(cron = "${app.reminders.extend-cron:0 5 0 * * *}")
+    public void extendHorizon() {
+        LocalDate from;
+        lock.lock();
+        try {
+            from = loadedUntil;
+        } finally {
+            lock.unlock();
+        }
+        LocalDate until = LocalDate.now(zone).plus(horizon);
+        if (from != null && from.isBefore(until)) {
+            loadWindow(from, until);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskResponse task = event.getTask();
+        lock.lock();
+        try {
+            cancel(event.getTaskId());
+            if (task != null && !task.isCompleted() && task.getDueDate() != null
+                    && loadedUntil != null && task.getDueDate().isBefore(loadedUntil)) {
+                schedule(task.getId(), task.getDueDate());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        dispatcher.shutdown();
+    }
+
+    private void loadWindow(LocalDate from, LocalDate until) {
+        long start = System.currentTimeMillis();
+        // Widen the window first so live writes inside it are scheduled while the batches load
+        lock.lock();
+        try {
+            loadedUntil = until;
+        } finally {
+            lock.unlock();
+        }
+
+        LocalDate afterDate = from.minusDays(1);
+        Long afterId = 0L;
+        int loaded = 0;
+        List<DueTaskView> batch;
+        do {
+            batch = taskRepository.findOpenDueBatch(from, until, afterDate, afterId, Limit.of(loadBatchSize));
+            lock.lock();
+            try {
+                for (DueTaskView task : batch) {
+                    // A live write that got here first is newer than this snapshot
+                    if (!entriesByTaskId.containsKey(task.getId())) {
+                        schedule(task.getId(), task.getDueDate());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (!batch.isEmpty()) {
+                DueTaskView last = batch.get(batch.size() - 1);
+                afterDate = last.getDueDate();
+                afterId = last.getId();
+                loaded += batch.size();
+            }
+        } while (batch.size() == loadBatchSize);
+        logger.info("Loaded {} reminders due from {} until {} in {} ms", loaded, from, until,
+                System.currentTimeMillis() - start);
+    }
+
+    // Callers hold the lock. Reminders whose time already passed are not sent late.
+    private void schedule(Long taskId, LocalDate dueDate) {
+        long remindAtMs = dueDate.atTime(timeOfDay).minus(leadTime).atZone(zone).toInstant().toEpochMilli();
+        if (remindAtMs < System.currentTimeMillis()) {
+            return;
+        }
+        TimingWheel.Entry<Long> entry = wheel.schedule(taskId, remindAtMs);
+        if (entry == null) {
+            dispatcher.execute(() -> deliver(Map.of(taskId, dueDate)));
+        } else {
+            entriesByTaskId.put(taskId, entry);
+        }
+    }
+
+    private void cancel(Long taskId) {
+        TimingWheel.Entry<Long> entry = entriesByTaskId.remove(taskId);
+        if (entry != null) {
+            wheel.cancel(entry);
+        }
+    }
+
+    private void tick() {
+        try {
+            Map<Long, LocalDate> due = new HashMap<>();
+            lock.lock();
+            try {
+                wheel.advanceTo(System.currentTimeMillis(), entry -> {
+                    entriesByTaskId.remove(entry.getValue());
+                    due.put(entry.getValue(), dueDateOf(entry.getExpirationMs()));
+                });
+            } finally {
+                lock.unlock();
+            }
+            if (!due.isEmpty()) {
+                dispatcher.execute(() -> deliver(due));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Reminder tick failed: {}", e.getMessage());
+        }
+    }
+
+    // Re-reads the firing tasks in one query, so writes made on other instances or without an event
+    // (user deletion) never produce a reminder for a task that is gone, done or rescheduled
+    private void deliver(Map<Long, LocalDate> due) {
+        try {
+            List<Long> taskIds = new ArrayList<>(due.keySet());
+            for (int i = 0; i < taskIds.size(); i += loadBatchSize) {
+                List<Long> chunk = taskIds.subList(i, Math.min(i + loadBatchSize, taskIds.size()));
+                for (TaskResponse task : taskRepository.findOpenResponsesByIdIn(chunk)) {
+                    if (task.getDueDate() != null && task.getDueDate().equals(due.get(task.getId()))) {
+                        Reminder reminder = new Reminder(task.getId(), task.getUserId(), task.getUsername(),
+                                task.getTitle(), task.getDueDate(), task.getDueDate().atTime(timeOfDay).minus(leadTime));
+                        dispatcher.execute(() -> send(reminder));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Reminder delivery failed for {} tasks: {}", due.size(), e.getMessage());
+        }
+    }
+
+    private void send(Reminder reminder) {
+        try {
+            reminderSink.send(reminder);
+            sentReminders.increment();
+        } catch (RuntimeException e) {
+            logger.warn("Reminder for task {} could not be sent: {}", reminder.getTaskId(), e.getMessage());
+        }
+    }
+
+    private LocalDate dueDateOf(long remindAtMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(remindAtMs), zone).plus(leadTime).toLocalDate();
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.todoapplication.reminder;
+
+// Delivery channel for reminders, chosen with app.reminders.sink (log or file); provide another bean to replace both
+public interface ReminderSink {
+    void send(Reminder reminder);
+}
@@ -0,0 +1,165 @@
+package com.example.todoapplication.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel: level k has wheelSize buckets spanning tickMs * wheelSize^k each, and levels are
+// added as far-off expirations need them. Scheduling and cancelling are O(1); a higher-level bucket is
+// spread over the lower levels only when its window starts, so idle timers cost nothing per tick.
+// Not thread-safe: ReminderScheduler guards every call with its lock.
+class TimingWheel<T> {
+    static final class Entry<T> {
+        private final T value;
+        private final long expirationMs;
+        private Bucket<T> bucket;
+        private Entry<T> prev;
+        private Entry<T> next;
+
+        private Entry(T value, long expirationMs) {
+            this.value = value;
+            this.expirationMs = expirationMs;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        long getExpirationMs() {
+            return expirationMs;
+        }
+    }
+
+    // Circular doubly linked list around a sentinel, so entries unlink themselves in O(1)
+    private static final class Bucket<T> {
+        private final Entry<T> head = new Entry<>(null, 0);
+
+        private Bucket() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void add(Entry<T> entry) {
+            entry.bucket = this;
+            entry.prev = head.prev;
+            entry.next = head;
+            head.prev.next = entry;
+            head.prev = entry;
+        }
+
+        private void remove(Entry<T> entry) {
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        private void drainTo(List<Entry<T>> target) {
+            Entry<T> entry = head.next;
+            while (entry != head) {
+                Entry<T> next = entry.next;
+                remove(entry);
+                target.add(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Bucket<T>[]> levels = new ArrayList<>();
+    private final List<Long> levelTicks = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize at least 2");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMs - startMs % tickMs;
+        addLevel(tickMs);
+    }
+
+    // Returns null when the expiration falls within the current tick: the caller should fire it right away
+    Entry<T> schedule(T value, long expirationMs) {
+        Entry<T> entry = new Entry<>(value, expirationMs);
+        return insert(entry) ? entry : null;
+    }
+
+    boolean cancel(Entry<T> entry) {
+        if (entry.bucket == null) {
+            return false;
+        }
+        entry.bucket.remove(entry);
+        size--;
+        return true;
+    }
+
+    // Moves the wheel forward tick by tick up to now and hands every entry that became due to the consumer
+    void advanceTo(long nowMs, Consumer<Entry<T>> expired) {
+        List<Entry<T>> drained = new ArrayList<>();
+        while (currentTime + tickMs <= nowMs) {
+            currentTime += tickMs;
+            // Higher-level buckets whose window starts now are re-inserted, landing in lower levels or firing
+            for (int level = 1; level < levels.size() && currentTime % levelTicks.get(level) == 0; level++) {
+                drain(level, drained);
+                for (Entry<T> entry : drained) {
+                    if (!insert(entry)) {
+                        expired.accept(entry);
+                    }
+                }
+                drained.clear();
+            }
+            drain(0, drained);
+            drained.forEach(expired);
+            drained.clear();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private boolean insert(Entry<T> entry) {
+        long expiration = entry.expirationMs;
+        if (expiration < currentTime + tickMs) {
+            return false;
+        }
+        for (int level = 0; ; level++) {
+            if (level == levels.size()) {
+                long previousTick = levelTicks.get(level - 1);
+                if (previousTick > Long.MAX_VALUE / wheelSize / wheelSize) {
+                    throw new IllegalArgumentException("Expiration too far in the future: " + expiration);
+                }
+                addLevel(previousTick * wheelSize);
+            }
+            long levelTick = levelTicks.get(level);
+            long levelStart = currentTime - currentTime % levelTick;
+            // Never the bucket of the current window: that range always fits a lower level or is due now
+            if (expiration < levelStart + levelTick * wheelSize) {
+                levels.get(level)[(int) ((expiration / levelTick) % wheelSize)].add(entry);
+                size++;
+                return true;
+            }
+        }
+    }
+
+    private void drain(int level, List<Entry<T>> target) {
+        int before = target.size();
+        levels.get(level)[(int) ((currentTime / levelTicks.get(level)) % wheelSize)].drainTo(target);
+        size -= target.size() - before;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addLevel(long levelTick) {
+        Bucket<T>[] buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        levels.add(buckets);
+        levelTicks.add(levelTick);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.todoapplication.repository;
+
+import com.example.todoapplication.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    // Token, user and roles in one indexed lookup
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user u LEFT JOIN FETCH u.roles WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findWithUserByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Returns 0 when another request already consumed the token
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id = :id")
+    int deleteTokenById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+
+    // Deletes at most batchSize expired tokens so cleanup never holds long locks
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE id IN " +
+            "(SELECT id FROM refresh_tokens WHERE expires_at < :now LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("batchSize") int batchSize);
+}
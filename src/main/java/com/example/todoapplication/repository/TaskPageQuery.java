@@ -0,0 +1,56 @@
+package com.example.todoapplication.repository;
+
+import com.example.todoapplication.dto.request.TaskFilterRequest;
+
+// One keyset page: filtered rows strictly after (afterValue, afterId) in (sortKey, id) order
+public class TaskPageQuery {
+    private final Long userId;
+    private final TaskFilterRequest filter;
+    private final TaskSortKey sortKey;
+    private final boolean ascending;
+    private final Comparable<?> afterValue;
+    private final Long afterId;
+    private final int limit;
+
+    public TaskPageQuery(Long userId, TaskFilterRequest filter, TaskSortKey sortKey, boolean ascending,
+                         Comparable<?> afterValue, Long afterId, int limit) {
+        this.userId = userId;
+        this.filter = filter;
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+        this.afterValue = afterValue;
+        this.afterId = afterId;
+        this.limit = limit;
+    }
+
+    // Null means all users (admin listing)
+    public Long getUserId() {
+        return userId;
+    }
+
+    // Null means no filtering
+    public TaskFilterRequest getFilter() {
+        return filter;
+    }
+
+    public TaskSortKey getSortKey() {
+        return sortKey;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public Comparable<?> getAfterValue() {
+        return afterValue;
+    }
+
+    // Null on the first page
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -1,22 +1,57 @@
 package com.example.todoapplication.repository;
 
+import com.example.todoapplication.dto.response.TaskResponse;
 import com.example.todoapplication.model.Task;
+import com.example.todoapplication.search.TaskDocument;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     // Find all tasks by user ID
     List<Task> findByUserId(Long userId);
 
+    // List endpoints read DTOs straight from tasks JOIN users: one statement, no lazy owner loads
+    @Query("SELECT new com.example.todoapplication.dto.response.TaskResponse(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate, u.id, u.username, t.version) " +
+            "FROM Task t JOIN t.user u WHERE u.id = :userId ORDER BY t.id")
+    List<TaskResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.example.todoapplication.dto.response.TaskResponse(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate, u.id, u.username, t.version) " +
+            "FROM Task t JOIN t.user u ORDER BY t.id")
+    List<TaskResponse> findAllResponses();
+
+    @Query("SELECT new com.example.todoapplication.dto.response.TaskResponse(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate, u.id, u.username, t.version) " +
+            "FROM Task t JOIN t.user u WHERE u.id = :userId AND t.id IN :ids")
+    List<TaskResponse> findResponsesByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Searchable fields only, for rebuilding the in-memory search index
+    @Query("SELECT new com.example.todoapplication.search.TaskDocument(t.id, t.user.id, t.title, t.description) " +
+            "FROM Task t WHERE t.user.id IN :userIds")
+    List<TaskDocument> findSearchDocumentsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
     // Find all completed/incomplete tasks for a user
     List<Task> findByUserIdAndCompleted(Long userId, boolean completed);
-        Optional<Task> findByIdAndUserId(Long taskId, Long userId);
+
+    // Single-task loads fetch the owner with the task: responses carry the username
+    @EntityGraph(attributePaths = "user")
+    Optional<Task> findByIdAndUserId(Long taskId, Long userId);
+
+    @EntityGraph(attributePaths = "user")
+    Optional<Task> findWithUserById(Long id);
 
 
     // Check if a task exists with given ID and user ID
@@ -25,9 +60,146 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     // Count all tasks for a user
     long countByUserId(Long userId);
 
-    // Custom query to find overdue tasks
-    @Query("SELECT t FROM Task t WHERE t.user = :userId AND t.dueDate < CURRENT_DATE AND t.completed = false")
-    List<Task> findOverdueTasks(@Param("userId") Long userId);
+    // Open tasks due before today, oldest first; served by idx_tasks_user_id_completed_due_date
+    @Query("SELECT new com.example.todoapplication.dto.response.TaskResponse(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate, u.id, u.username, t.version) " +
+            "FROM Task t JOIN t.user u WHERE u.id = :userId AND t.completed = false AND t.dueDate < :today " +
+            "ORDER BY t.dueDate, t.id")
+    List<TaskResponse> findOverdueTasks(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    interface OverdueTaskView {
+        Long getId();
+        Long getUserId();
+        LocalDate getDueDate();
+    }
+
+    // Marks the next batch of open, past-due, unreported tasks and returns them. The predicate matches the
+    // partial index idx_tasks_overdue_scan, which shrinks as tasks get marked; SKIP LOCKED lets scans on
+    // several instances share the work instead of queueing behind each other. Tasks of deleted users wait
+    // for the purge unmarked.
+    @Query(value = "UPDATE tasks SET overdue_notified = true WHERE id IN (" +
+            "SELECT t.id FROM tasks t JOIN users u ON u.id = t.user_id AND u.deleted_at IS NULL " +
+            "WHERE t.completed = false AND t.overdue_notified = false AND t.due_date < :today " +
+            "ORDER BY t.due_date, t.id LIMIT :batchSize FOR UPDATE OF t SKIP LOCKED) " +
+            "RETURNING id AS id, user_id AS \"userId\", due_date AS \"dueDate\"", nativeQuery = true)
+    List<OverdueTaskView> markOverdueBatch(@Param("today") LocalDate today, @Param("batchSize") int batchSize);
+
+    interface DueTaskView {
+        Long getId();
+        LocalDate getDueDate();
+    }
+
+    // Keyset batch of open tasks due in [from, until), walking idx_tasks_due_date_id. Deleted users are
+    // filtered explicitly: Hibernate drops a join to the owner that nothing else references.
+    @Query("SELECT t.id AS id, t.dueDate AS dueDate FROM Task t JOIN t.user u " +
+            "WHERE u.deletedAt IS NULL AND t.completed = false AND t.dueDate >= :from AND t.dueDate < :until " +
+            "AND (t.dueDate > :afterDate OR (t.dueDate = :afterDate AND t.id > :afterId)) " +
+            "ORDER BY t.dueDate, t.id")
+    List<DueTaskView> findOpenDueBatch(@Param("from") LocalDate from,
+                                       @Param("until") LocalDate until,
+                                       @Param("afterDate") LocalDate afterDate,
+                                       @Param("afterId") Long afterId,
+                                       Limit limit);
+
+    @Query("SELECT new com.example.todoapplication.dto.response.TaskResponse(" +
+            "t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.dueDate, u.id, u.username, t.version) " +
+            "FROM Task t JOIN t.user u WHERE t.id IN :ids AND t.completed = false")
+    List<TaskResponse> findOpenResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    interface TaskRowView {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        boolean getCompleted();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+        LocalDate getDueDate();
+        Long getUserId();
+        String getUsername();
+        Long getVersion();
+    }
+
+    interface DeletedTaskView {
+        Long getId();
+        boolean getCompleted();
+        LocalDate getDueDate();
+    }
+
+    // Set-based completion change: ownership is part of the WHERE clause, and only tasks that were not yet in
+    // the requested state are updated and returned. Changing completion also re-arms the overdue scan.
+    @Query(value = "UPDATE tasks t SET completed = :completed, updated_at = :now, overdue_notified = false, " +
+            "version = t.version + 1 " +
+            "FROM users u WHERE u.id = t.user_id AND u.deleted_at IS NULL AND t.user_id = :userId AND t.id IN :ids " +
+            "AND t.completed <> :completed " +
+            "RETURNING t.id AS id, t.title AS title, t.description AS description, t.completed AS completed, " +
+            "t.created_at AS \"createdAt\", t.updated_at AS \"updatedAt\", t.due_date AS \"dueDate\", " +
+            "t.user_id AS \"userId\", u.username AS username, t.version AS version", nativeQuery = true)
+    List<TaskRowView> updateCompletedByIdInAndUserId(@Param("ids") Collection<Long> ids,
+                                                     @Param("userId") Long userId,
+                                                     @Param("completed") boolean completed,
+                                                     @Param("now") LocalDateTime now);
+
+    @Query(value = "DELETE FROM tasks t USING users u " +
+            "WHERE u.id = t.user_id AND u.deleted_at IS NULL AND t.user_id = :userId AND t.id IN :ids " +
+            "RETURNING t.id AS id, t.completed AS completed, t.due_date AS \"dueDate\"", nativeQuery = true)
+    List<DeletedTaskView> deleteByIdInAndUserIdReturning(@Param("ids") Collection<Long> ids,
+                                                         @Param("userId") Long userId);
+
+    // Tail shared by the single-task completion statements below. The summary row and the task's due bucket
+    // change in the same statement as the task (task row first, like TaskSummaryService), and buckets are only
+    // touched for users whose counters exist. A bucket left at zero is harmless to the counts.
+    String COMPLETION_COUNTERS = ", summary AS (UPDATE task_summaries s " +
+            "SET completed = s.completed + CASE WHEN c.completed THEN 1 ELSE -1 END " +
+            "FROM changed c WHERE s.user_id = c.user_id RETURNING s.user_id), " +
+            "bucket AS (INSERT INTO task_due_buckets (user_id, due_date, open_count) " +
+            "SELECT c.user_id, c.due_date, CASE WHEN c.completed THEN -1 ELSE 1 END FROM changed c " +
+            "WHERE c.due_date IS NOT NULL AND EXISTS (SELECT 1 FROM summary) " +
+            "ON CONFLICT (user_id, due_date) DO UPDATE SET open_count = task_due_buckets.open_count + EXCLUDED.open_count) " +
+            "SELECT c.id AS id, c.title AS title, c.description AS description, c.completed AS completed, " +
+            "c.created_at AS \"createdAt\", c.updated_at AS \"updatedAt\", c.due_date AS \"dueDate\", " +
+            "c.user_id AS \"userId\", c.username AS username, c.version AS version FROM changed c";
+
+    // Toggle in one round trip: no entity load, ownership is part of the WHERE clause, and an empty result
+    // means the task is missing or belongs to someone else
+    @Query(value = "WITH changed AS (UPDATE tasks t " +
+            "SET completed = NOT t.completed, updated_at = :now, overdue_notified = false, " +
+            "version = t.version + 1 " +
+            "FROM users u WHERE u.id = t.user_id AND u.deleted_at IS NULL AND t.id = :taskId AND t.user_id = :userId " +
+            "RETURNING t.id, t.title, t.description, t.completed, t.created_at, t.updated_at, t.due_date, " +
+            "t.user_id, u.username, t.version)" + COMPLETION_COUNTERS, nativeQuery = true)
+    Optional<TaskRowView> toggleCompletedByIdAndUserId(@Param("taskId") Long taskId,
+                                                       @Param("userId") Long userId,
+                                                       @Param("now") LocalDateTime now);
+
+    // Same for an explicit state; a task already in that state is not updated and not returned
+    @Query(value = "WITH changed AS (UPDATE tasks t " +
+            "SET completed = :completed, updated_at = :now, overdue_notified = false, " +
+            "version = t.version + 1 " +
+            "FROM users u WHERE u.id = t.user_id AND u.deleted_at IS NULL AND t.id = :taskId AND t.user_id = :userId " +
+            "AND t.completed <> :completed " +
+            "RETURNING t.id, t.title, t.description, t.completed, t.created_at, t.updated_at, t.due_date, " +
+            "t.user_id, u.username, t.version)" + COMPLETION_COUNTERS, nativeQuery = true)
+    Optional<TaskRowView> updateCompletedByIdAndUserId(@Param("taskId") Long taskId,
+                                                       @Param("userId") Long userId,
+                                                       @Param("completed") boolean completed,
+                                                       @Param("now") LocalDateTime now);
+
+    // Owner only, to tell a missing task (404) from someone else's (403) after a scoped write missed. The
+    // join applies the owner's soft-delete restriction, so a deleted user's task reads as missing.
+    @Query("SELECT u.id FROM Task t JOIN t.user u WHERE t.id = :taskId")
+    Optional<Long> findUserIdById(@Param("taskId") Long taskId);
+
+    // A task that is reopened or rescheduled becomes eligible for the overdue scan again
+    @Modifying
+    @Query(value = "UPDATE tasks SET overdue_notified = false WHERE id = :taskId AND overdue_notified = true",
+            nativeQuery = true)
+    int clearOverdueNotified(@Param("taskId") Long taskId);
+
+    // One bounded chunk of a deleted user's tasks, so the purge never holds many row locks at once
+    @Modifying
+    @Query(value = "DELETE FROM tasks WHERE user_id = :userId AND id IN " +
+            "(SELECT id FROM tasks WHERE user_id = :userId ORDER BY id LIMIT :batchSize)", nativeQuery = true)
+    int deleteBatchByUserId(@Param("userId") Long userId, @Param("batchSize") int batchSize);
 
     // Delete all tasks for a user
     void deleteAllByUserId(Long userId);
@@ -0,0 +1,15 @@
+package com.example.todoapplication.repository;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.model.Task;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TaskRepositoryCustom {
+    // Keyset page over (sort key, id); never uses OFFSET so deep pages cost the same as the first
+    List<TaskResponse> findPage(TaskPageQuery query);
+
+    // Every task with its owner, read through a server-side cursor; must be consumed inside a transaction and closed
+    Stream<Task> streamAll(int fetchSize);
+}
@@ -0,0 +1,120 @@
+package com.example.todoapplication.repository;
+
+import com.example.todoapplication.dto.request.TaskFilterRequest;
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskResponse> findPage(TaskPageQuery query) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> cq = cb.createQuery(TaskResponse.class);
+        Root<Task> task = cq.from(Task.class);
+        Join<Task, User> user = task.join("user");
+        cq.select(cb.construct(TaskResponse.class,
+                task.get("id"),
+                task.get("title"),
+                task.get("description"),
+                task.get("completed"),
+                task.get("createdAt"),
+                task.get("updatedAt"),
+                task.get("dueDate"),
+                user.get("id"),
+                user.get("username"),
+                task.get("version")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.getUserId() != null) {
+            predicates.add(cb.equal(user.get("id"), query.getUserId()));
+        }
+        if (query.getFilter() != null) {
+            addFilterPredicates(cb, task, query.getFilter(), predicates);
+        }
+        if (query.getAfterId() != null) {
+            predicates.add(keysetPredicate(cb, task, query));
+        }
+        cq.where(predicates.toArray(Predicate[]::new));
+
+        Path<Long> id = task.get("id");
+        boolean ascending = query.isAscending();
+        if (query.getSortKey() == TaskSortKey.ID) {
+            cq.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            // Nulls last in both directions so the keyset predicate below stays consistent with the order
+            Path<?> key = task.get(query.getSortKey().getAttribute());
+            cq.orderBy(ascending ? cb.asc(key, false) : cb.desc(key, false),
+                    ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(query.getLimit())
+                .getResultList();
+    }
+
+    private void addFilterPredicates(HibernateCriteriaBuilder cb, Root<Task> task, TaskFilterRequest filter,
+                                     List<Predicate> predicates) {
+        if (filter.getCompleted() != null) {
+            predicates.add(cb.equal(task.get("completed"), filter.getCompleted()));
+        }
+        addRange(cb, task.get("dueDate"), filter.getDueFrom(), filter.getDueTo(), predicates);
+        addRange(cb, task.get("createdAt"), filter.getCreatedFrom(), filter.getCreatedTo(), predicates);
+        addRange(cb, task.get("updatedAt"), filter.getUpdatedFrom(), filter.getUpdatedTo(), predicates);
+    }
+
+    private <Y extends Comparable<? super Y>> void addRange(HibernateCriteriaBuilder cb, Path<Y> path,
+                                                            Y from, Y to, List<Predicate> predicates) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(path, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(path, to));
+        }
+    }
+
+    @Override
+    public Stream<Task> streamAll(int fetchSize) {
+        return entityManager.createQuery("SELECT t FROM Task t JOIN FETCH t.user ORDER BY t.id", Task.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate keysetPredicate(HibernateCriteriaBuilder cb, Root<Task> task, TaskPageQuery query) {
+        Path<Long> id = task.get("id");
+        Long afterId = query.getAfterId();
+        boolean ascending = query.isAscending();
+        Predicate idAfter = ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId);
+        if (query.getSortKey() == TaskSortKey.ID) {
+            return idAfter;
+        }
+
+        Path<Comparable> key = task.get(query.getSortKey().getAttribute());
+        Comparable afterValue = query.getAfterValue();
+        if (afterValue == null) {
+            // Already inside the trailing null block
+            return cb.and(cb.isNull(key), idAfter);
+        }
+        return cb.or(
+                ascending ? cb.greaterThan(key, afterValue) : cb.lessThan(key, afterValue),
+                cb.and(cb.equal(key, afterValue), idAfter),
+                cb.isNull(key));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.todoapplication.repository;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Whitelisted sort keys for task listings; every key is paired with id as tie-breaker for keyset paging
+public enum TaskSortKey {
+    ID("id", TaskResponse::getId, Long::valueOf),
+    DUE_DATE("dueDate", TaskResponse::getDueDate, LocalDate::parse),
+    CREATED_AT("createdAt", TaskResponse::getCreatedAt, LocalDateTime::parse),
+    UPDATED_AT("updatedAt", TaskResponse::getUpdatedAt, LocalDateTime::parse),
+    TITLE("title", TaskResponse::getTitle, value -> value);
+
+    private final String attribute;
+    private final Function<TaskResponse, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    TaskSortKey(String attribute, Function<TaskResponse, Comparable<?>> extractor,
+                Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Comparable<?> valueOf(TaskResponse task) {
+        return extractor.apply(task);
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static Optional<TaskSortKey> fromAttribute(String attribute) {
+        return Arrays.stream(values())
+                .filter(key -> key.attribute.equals(attribute))
+                .findFirst();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todoapplication.repository;
+
+import com.example.todoapplication.model.TaskSummary;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+// Native PostgreSQL statements: counters are changed in place, never read-modify-written from Java.
+// FLUSH_MODE COMMIT keeps pending task changes from being flushed before the prior state is read.
+@Repository
+public interface TaskSummaryRepository extends JpaRepository<TaskSummary, Long> {
+    interface TaskState {
+        boolean getCompleted();
+        LocalDate getDueDate();
+        boolean getOverdueNotified();
+    }
+
+    interface SummaryCounts {
+        long getTotal();
+        long getCompleted();
+        long getOverdue();
+        long getDueToday();
+    }
+
+    // Locks the task row so concurrent writers of the same task apply their deltas one after another
+    @Query(value = "SELECT completed AS completed, due_date AS \"dueDate\", " +
+            "overdue_notified AS \"overdueNotified\" FROM tasks WHERE id = :taskId FOR UPDATE",
+            nativeQuery = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    Optional<TaskState> lockTaskState(@Param("taskId") Long taskId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM task_summaries WHERE user_id = :userId)", nativeQuery = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    boolean existsForUser(@Param("userId") Long userId);
+
+    // One-time backfill for users whose tasks predate the counters; a concurrent initializer waits on the key.
+    // Deleted users get no row, so their counters stay gone until the purge.
+    @Modifying
+    @Query(value = "INSERT INTO task_summaries (user_id, total, completed) " +
+            "SELECT u.id, COUNT(t.id), COUNT(t.id) FILTER (WHERE t.completed) " +
+            "FROM users u LEFT JOIN tasks t ON t.user_id = u.id " +
+            "WHERE u.id = :userId AND u.deleted_at IS NULL GROUP BY u.id " +
+            "ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    int initializeSummary(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO task_due_buckets (user_id, due_date, open_count) " +
+            "SELECT t.user_id, t.due_date, COUNT(*) FROM tasks t " +
+            "JOIN users u ON u.id = t.user_id AND u.deleted_at IS NULL " +
+            "WHERE t.user_id = :userId AND t.completed = false AND t.due_date IS NOT NULL " +
+            "GROUP BY t.user_id, t.due_date", nativeQuery = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    int initializeDueBuckets(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE task_summaries SET total = total + :totalDelta, completed = completed + :completedDelta " +
+            "WHERE user_id = :userId", nativeQuery = true)
+    int addToSummary(@Param("userId") Long userId,
+                     @Param("totalDelta") long totalDelta,
+                     @Param("completedDelta") long completedDelta);
+
+    @Modifying
+    @Query(value = "INSERT INTO task_due_buckets (user_id, due_date, open_count) VALUES (:userId, :dueDate, :delta) " +
+            "ON CONFLICT (user_id, due_date) DO UPDATE SET open_count = task_due_buckets.open_count + EXCLUDED.open_count",
+            nativeQuery = true)
+    int addToDueBucket(@Param("userId") Long userId, @Param("dueDate") LocalDate dueDate, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_due_buckets WHERE user_id = :userId AND due_date = :dueDate AND open_count = 0",
+            nativeQuery = true)
+    int deleteEmptyDueBucket(@Param("userId") Long userId, @Param("dueDate") LocalDate dueDate);
+
+    // Counters plus the buckets up to today: a primary key lookup and a short range scan
+    @Query(value = "SELECT s.total AS total, s.completed AS completed, " +
+            "CAST(COALESCE((SELECT SUM(b.open_count) FROM task_due_buckets b " +
+            "WHERE b.user_id = s.user_id AND b.due_date < :today), 0) AS bigint) AS overdue, " +
+            "COALESCE((SELECT b.open_count FROM task_due_buckets b " +
+            "WHERE b.user_id = s.user_id AND b.due_date = :today), 0) AS \"dueToday\" " +
+            "FROM task_summaries s WHERE s.user_id = :userId", nativeQuery = true)
+    Optional<SummaryCounts> findCounts(@Param("userId") Long userId, @Param("today") LocalDate today);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_due_buckets WHERE user_id = :userId", nativeQuery = true)
+    int deleteDueBucketsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_summaries WHERE user_id = :userId", nativeQuery = true)
+    int deleteSummaryByUserId(@Param("userId") Long userId);
+}
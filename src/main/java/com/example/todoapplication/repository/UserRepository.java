@@ -1,11 +1,11 @@
 package com.example.todoapplication.repository;
 import com.example.todoapplication.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +14,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find by username (used for login)
     Optional<User> findByUsername(String username);
 
+    // User and roles in one statement, used to build the security principal
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :username")
+    Optional<User> findWithRolesByUsername(@Param("username") String username);
+
+    // Users and roles in one statement for the admin listing, instead of one roles query per user
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles ORDER BY u.id")
+    List<User> findAllWithRoles();
+
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id = :id")
+    Optional<User> findWithRolesById(@Param("id") Long id);
+
     // Find by email
     Optional<User> findByEmail(String email);
 
@@ -23,13 +34,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Check if email exists (for registration validation)
     Boolean existsByEmail(String email);
 
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
+
+    // Current token epoch only, used to validate stateless tokens
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenEpochById(@Param("id") Long id);
+
     // Find all users with a specific role
     @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
     List<User> findAllByRoleName(String roleName);
 
-    // Corrected query using proper JPA relationship path
-    @Query("SELECT DISTINCT u FROM User u JOIN u.tasks t WHERE t.dueDate <= :deadline")
-    List<User> findUsersWithTasksDueSoon(@Param("deadline") LocalDateTime deadline);
+    // Soft-deleted users waiting for the purger, oldest deletion first (native: the entity hides them)
+    @Query(value = "SELECT id FROM users WHERE deleted_at IS NOT NULL ORDER BY deleted_at, id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findDeletedUserIds(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE user_id = :userId", nativeQuery = true)
+    int deleteRolesByUserId(@Param("userId") Long userId);
+
+    // Only ever removes a soft-deleted row
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id = :userId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int deleteDeletedUserById(@Param("userId") Long userId);
 
 }
 
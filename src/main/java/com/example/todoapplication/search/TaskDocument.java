@@ -0,0 +1,32 @@
+package com.example.todoapplication.search;
+
+// The searchable fields of a task, as loaded for the index rebuild
+public class TaskDocument {
+    private final Long id;
+    private final Long userId;
+    private final String title;
+    private final String description;
+
+    public TaskDocument(Long id, Long userId, String title, String description) {
+        this.id = id;
+        this.userId = userId;
+        this.title = title;
+        this.description = description;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.todoapplication.search;
+
+import com.example.todoapplication.event.TaskChangedEvent;
+import com.example.todoapplication.event.UserChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over task title and description, partitioned per user.
+// Terms are kept sorted so every query term matches as a prefix; exact term matches and title hits rank higher.
+// The index only produces candidate ids: results are always read back from the database.
+@Component
+public class TaskSearchIndex {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BOOST = 2;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final Map<Long, UserPartition> partitions = new ConcurrentHashMap<>();
+
+    public void index(Long userId, Long taskId, String title, String description) {
+        partition(userId).put(taskId, termWeights(title, description), true);
+    }
+
+    public void remove(Long userId, Long taskId) {
+        UserPartition partition = partitions.get(userId);
+        if (partition != null) {
+            partition.remove(taskId);
+        }
+    }
+
+    public void removeUser(Long userId) {
+        partitions.remove(userId);
+    }
+
+    // Adds documents loaded from the database without overwriting anything indexed by live writes meanwhile
+    void merge(Long userId, List<TaskDocument> documents) {
+        UserPartition partition = partition(userId);
+        for (TaskDocument document : documents) {
+            partition.put(document.getId(), termWeights(document.getTitle(), document.getDescription()), false);
+        }
+    }
+
+    public List<Long> search(Long userId, String query, int limit) {
+        UserPartition partition = partitions.get(userId);
+        List<String> queryTerms = tokenize(query);
+        if (partition == null || queryTerms.isEmpty()) {
+            return List.of();
+        }
+        return partition.score(queryTerms).entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.DELETED) {
+            remove(event.getUserId(), event.getTaskId());
+        } else {
+            index(event.getUserId(), event.getTaskId(), event.getTask().getTitle(), event.getTask().getDescription());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isDeleted()) {
+            removeUser(event.getUserId());
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Map<String, Integer> termWeights(String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(title).forEach(term -> weights.merge(term, TITLE_WEIGHT, Integer::sum));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+        return weights;
+    }
+
+    private UserPartition partition(Long userId) {
+        return partitions.computeIfAbsent(userId, id -> new UserPartition());
+    }
+
+    private static final class UserPartition {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Set<String>> termsByTask = new HashMap<>();
+
+        void put(Long taskId, Map<String, Integer> termWeights, boolean replace) {
+            lock.writeLock().lock();
+            try {
+                if (termsByTask.containsKey(taskId)) {
+                    if (!replace) {
+                        return;
+                    }
+                    removeLocked(taskId);
+                }
+                termWeights.forEach((term, weight) ->
+                        postings.computeIfAbsent(term, t -> new HashMap<>()).put(taskId, weight));
+                termsByTask.put(taskId, new HashSet<>(termWeights.keySet()));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long taskId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(taskId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeLocked(Long taskId) {
+            Set<String> terms = termsByTask.remove(taskId);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<Long, Integer> taskWeights = postings.get(term);
+                taskWeights.remove(taskId);
+                if (taskWeights.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        // Every query term has to match (as a prefix of some term) for a task to be returned
+        Map<Long, Integer> score(List<String> queryTerms) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Integer> scores = null;
+                for (String queryTerm : queryTerms) {
+                    Map<Long, Integer> termScores = new HashMap<>();
+                    postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false)
+                            .forEach((term, taskWeights) -> {
+                                int boost = term.equals(queryTerm) ? EXACT_MATCH_BOOST : 1;
+                                taskWeights.forEach((taskId, weight) ->
+                                        termScores.merge(taskId, weight * boost, Integer::sum));
+                            });
+                    if (scores == null) {
+                        scores = termScores;
+                    } else {
+                        scores.keySet().retainAll(termScores.keySet());
+                        scores.replaceAll((taskId, score) -> score + termScores.get(taskId));
+                    }
+                    if (scores.isEmpty()) {
+                        break;
+                    }
+                }
+                return scores;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
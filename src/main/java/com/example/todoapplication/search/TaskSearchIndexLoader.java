@@ -0,0 +1,76 @@
+package com.example.todoapplication.search;
+
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+// Rebuilds the search index from the database at startup, loading chunks of users in parallel
+@Component
+public class TaskSearchIndexLoader {
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndexLoader.class);
+
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final int threads;
+    private final int usersPerChunk;
+    private final boolean virtualThreads;
+
+    public TaskSearchIndexLoader(TaskSearchIndex taskSearchIndex,
+                                 TaskRepository taskRepository,
+                                 UserRepository userRepository,
+                                 @Value("${app.search.rebuild.threads:0}") int threads,
+                                 @Value("${app.search.rebuild.users-per-chunk:200}") int usersPerChunk,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.usersPerChunk = usersPerChunk;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<Long> userIds = userRepository.findAllIds();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i += usersPerChunk) {
+            chunks.add(userIds.subList(i, Math.min(i + usersPerChunk, userIds.size())));
+        }
+
+        // threads still bounds how many chunks query at once; in virtual-thread mode the workers are virtual
+        ExecutorService executor = Executors.newFixedThreadPool(threads, virtualThreads
+                ? Thread.ofVirtual().name("search-rebuild-", 0).factory()
+                : Thread.ofPlatform().name("search-rebuild-", 0).factory());
+        try {
+            CompletableFuture.allOf(chunks.stream()
+                    .map(chunk -> CompletableFuture.runAsync(() -> loadChunk(chunk), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+            logger.info("Search index rebuilt for {} users in {} ms", userIds.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.error("Search index rebuild failed: {}", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void loadChunk(List<Long> userIds) {
+        Map<Long, List<TaskDocument>> documentsByUser = taskRepository.findSearchDocumentsByUserIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(TaskDocument::getUserId));
+        documentsByUser.forEach(taskSearchIndex::merge);
+    }
+}
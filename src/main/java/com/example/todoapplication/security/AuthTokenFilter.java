@@ -1,4 +1,7 @@
 package com.example.todoapplication.security;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,14 +14,26 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final WebAuthenticationDetailsSource authenticationDetailsSource = new WebAuthenticationDetailsSource();
+    private final Timer parseTimer;
+    private final Timer principalTimer;
+    private final Timer verifyTimer;
 
-    public AuthTokenFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService) {
+    public AuthTokenFilter(JwtService jwtService, UserDetailsServiceImpl userDetailsService,
+                           TokenEpochRegistry tokenEpochRegistry, MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        // parse includes the signature check (jjwt does both in one call), verify compares claims and principal
+        this.parseTimer = phaseTimer("parse", meterRegistry);
+        this.principalTimer = phaseTimer("principal", meterRegistry);
+        this.verifyTimer = phaseTimer("verify", meterRegistry);
     }
 
     @Override
@@ -26,19 +41,47 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtService.isTokenValid(jwt, userDetailsService.loadUserByUsername(jwtService.extractUsername(jwt)))) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(jwtService.extractUsername(jwt));
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (jwt != null) {
+                // One verified parse yields subject and expiry, then one principal lookup
+                long start = System.nanoTime();
+                Claims claims = jwtService.extractAllClaims(jwt);
+                long parsed = System.nanoTime();
+                parseTimer.record(parsed - start, TimeUnit.NANOSECONDS);
+                UserDetails userDetails = loadPrincipal(claims);
+                long loaded = System.nanoTime();
+                principalTimer.record(loaded - parsed, TimeUnit.NANOSECONDS);
+                boolean valid = userDetails != null && jwtService.isTokenValid(claims, userDetails);
+                verifyTimer.record(System.nanoTime() - loaded, TimeUnit.NANOSECONDS);
+                if (valid) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(authenticationDetailsSource.buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}");
+            logger.error("Cannot set user authentication: " + e.getMessage());
         }
         filterChain.doFilter(request, response);
     }
 
+    private UserDetails loadPrincipal(Claims claims) {
+        UserDetailsImpl principal = jwtService.extractPrincipal(claims);
+        if (principal != null) {
+            // Stateless token: trust the signed claims unless the user's epoch has moved on since issue
+            return tokenEpochRegistry.isCurrent(principal.getId(), principal.getTokenEpoch()) ? principal : null;
+        }
+        return userDetailsService.loadUserByUsername(claims.getSubject());
+    }
+
+    private static Timer phaseTimer(String phase, MeterRegistry meterRegistry) {
+        return Timer.builder("auth.filter")
+                .description("Time spent in each step of bearer token authentication")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
@@ -46,4 +89,4 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
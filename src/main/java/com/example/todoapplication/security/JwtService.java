@@ -1,15 +1,24 @@
 package com.example.todoapplication.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -22,27 +31,91 @@ public class JwtService {
     // ⏳ Define a constant for token expiration (e.g., 24 hours = 86400000 ms)
     private static final long JWT_EXPIRATION_MS = 3600000;
 
+    // Claims carried by stateless tokens so the principal can be rebuilt without a DB lookup
+    static final String USER_ID_CLAIM = "uid";
+    static final String EMAIL_CLAIM = "email";
+    static final String ROLES_CLAIM = "roles";
+    static final String EPOCH_CLAIM = "epoch";
+
+    // The key and parser are immutable and thread-safe, so build them once instead of per call
+    private final Key signInKey;
+    private final JwtParser jwtParser;
+    private final boolean statelessPrincipal;
+    private final Timer generateTimer;
+
+    public JwtService() {
+        this(false, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public JwtService(@Value("${jwt.stateless-principal.enabled:false}") boolean statelessPrincipal,
+                      MeterRegistry meterRegistry) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        this.statelessPrincipal = statelessPrincipal;
+        this.generateTimer = Timer.builder("jwt.generate")
+                .description("Time to build and sign an access token")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (statelessPrincipal && userDetails instanceof UserDetailsImpl user) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(EMAIL_CLAIM, user.getEmail());
+            claims.put(ROLES_CLAIM, user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .toList());
+            claims.put(EPOCH_CLAIM, user.getTokenEpoch());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, JWT_EXPIRATION_MS);
+        return generateTimer.record(() -> buildToken(extraClaims, userDetails, JWT_EXPIRATION_MS));
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    // Validates already verified claims, so callers that parsed the token once don't parse it again
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
+    }
+
+    // Rebuilds the principal from a stateless token, or returns null when the token (or this mode) doesn't carry one
+    public UserDetailsImpl extractPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        if (!statelessPrincipal || userId == null) {
+            return null;
+        }
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        Integer epoch = claims.get(EPOCH_CLAIM, Integer.class);
+        return new UserDetailsImpl(
+                userId,
+                claims.getSubject(),
+                claims.get(EMAIL_CLAIM, String.class),
+                null,
+                authorities,
+                epoch == null ? 0 : epoch);
     }
 
     public String extractUsername(String token) {
@@ -54,24 +127,12 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // Verifies the signature and expiry in a single pass; throws a JwtException if either fails
+    public Claims extractAllClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
@@ -0,0 +1,44 @@
+package com.example.todoapplication.security;
+
+import com.example.todoapplication.exception.CustomException;
+import com.example.todoapplication.model.ERole;
+import com.example.todoapplication.model.Role;
+import com.example.todoapplication.repository.RoleRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// Roles never change at runtime, so they are read once and handed out as detached entities:
+// assigning one to a user only needs its id, and signup or role updates no longer query the roles table.
+@Component
+public class RoleRegistry {
+    private final RoleRepository roleRepository;
+    private volatile Map<ERole, Role> roles = Map.of();
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<ERole, Role> loaded = new EnumMap<>(ERole.class);
+        roleRepository.findAll().forEach(role -> loaded.put(role.getName(), role));
+        roles = Map.copyOf(loaded);
+    }
+
+    // Reloads once when a role is missing, in case the roles table was seeded after startup
+    public Role get(ERole name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            load();
+            role = roles.get(name);
+        }
+        if (role == null) {
+            throw new CustomException("Error: Role is not found.");
+        }
+        return role;
+    }
+}
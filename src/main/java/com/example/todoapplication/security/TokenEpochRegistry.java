@@ -0,0 +1,48 @@
+package com.example.todoapplication.security;
+
+import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Current token epoch per user. Stateless tokens carry the epoch they were issued with; bumping a user's
+// epoch (role change, password change, deletion) rejects them all.
+// The users.token_epoch column is the shared source of truth and this is only a cache of it: a bump made
+// on this instance applies at once, one made on another instance once the entry expires (ttl), so with
+// several instances a revoked token may still be accepted elsewhere for up to that long.
+@Component
+public class TokenEpochRegistry {
+    static final int REVOKED = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Integer> epochs;
+
+    public TokenEpochRegistry(UserRepository userRepository,
+                              @Value("${app.security.token-epoch.maximum-size:100000}") long maximumSize,
+                              @Value("${app.security.token-epoch.ttl:PT30S}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // A (single column) lookup per user and ttl; deleted users read as revoked
+    public boolean isCurrent(Long userId, int tokenEpoch) {
+        int current = epochs.get(userId, id -> userRepository.findTokenEpochById(id).orElse(REVOKED));
+        return current == tokenEpoch;
+    }
+
+    // Publishes a new epoch once the transaction that wrote it has committed
+    public void update(Long userId, int newEpoch) {
+        TransactionUtils.afterCommit(() -> epochs.put(userId, newEpoch));
+    }
+
+    public void revoke(Long userId) {
+        update(userId, REVOKED);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.todoapplication.security;
+
+import com.example.todoapplication.util.TransactionUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Bounded cache of principals keyed by username. Hit, miss and eviction counts are exported
+// as the cache.gets / cache.evictions meters with cache=userDetails.
+@Component
+public class UserDetailsCache {
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(@Value("${app.security.user-cache.maximum-size:10000}") long maximumSize,
+                            @Value("${app.security.user-cache.ttl:PT5M}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    // Exceptions thrown by the loader (e.g. UsernameNotFoundException) propagate and nothing is cached
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    // Drops the entry once the current transaction commits, so a concurrent reload can't re-cache stale data
+    public void invalidate(String username) {
+        cache.invalidate(username);
+        TransactionUtils.afterCommit(() -> cache.invalidate(username));
+    }
+}
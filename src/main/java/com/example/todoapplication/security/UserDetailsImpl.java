@@ -21,14 +21,21 @@ public class UserDetailsImpl implements UserDetails {
     private  final String email;
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
+    private final int tokenEpoch;
 
     public UserDetailsImpl(Long id, String username, String email, String password,
                            Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, email, password, authorities, 0);
+    }
+
+    public UserDetailsImpl(Long id, String username, String email, String password,
+                           Collection<? extends GrantedAuthority> authorities, int tokenEpoch) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.authorities = authorities;
+        this.tokenEpoch = tokenEpoch;
     }
 
     public static UserDetailsImpl build(User user) {
@@ -41,7 +48,8 @@ public class UserDetailsImpl implements UserDetails {
                 user.getUsername(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities);
+                authorities,
+                user.getTokenEpoch());
     }
 
     // Implement all UserDetails methods
@@ -0,0 +1,10 @@
+package com.example.todoapplication.service;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+
+import java.util.List;
+
+public interface OverdueTaskService {
+    List<TaskResponse> getOverdueTasks(Long userId);
+    int scanOverdueTasks();
+}
@@ -0,0 +1,10 @@
+package com.example.todoapplication.service;
+
+import com.example.todoapplication.dto.response.JwtResponse;
+
+public interface RefreshTokenService {
+    String createRefreshToken(Long userId);
+    JwtResponse refresh(String refreshToken);
+    void revokeAllForUser(Long userId);
+    int purgeExpiredTokens();
+}
@@ -1,20 +1,30 @@
 package com.example.todoapplication.service;
 
+import com.example.todoapplication.dto.request.TaskFilterRequest;
 import com.example.todoapplication.dto.request.TaskRequest;
+import com.example.todoapplication.dto.response.TaskImportResponse;
+import com.example.todoapplication.dto.response.TaskPageResponse;
 import com.example.todoapplication.dto.response.TaskResponse;
 import com.example.todoapplication.model.Task;
+import com.fasterxml.jackson.databind.JsonNode;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TaskService {
     TaskResponse createTask(TaskRequest taskRequest, Long userId);
     TaskResponse updateTask(Long taskId, TaskRequest taskRequest, Long userId);
+    TaskResponse patchTask(Long taskId, Long userId, JsonNode mergePatch);
     void deleteTask(Long taskId, Long userId);
     TaskResponse getTaskById(Long taskId, Long userId);
     List<TaskResponse> getAllTasksByUserId(Long userId);
     List<TaskResponse> getAllTasks();
     TaskResponse toggleTaskCompletion(Long taskId, Long userId);
+    TaskResponse setTaskCompleted(Long taskId, Long userId, boolean completed);
+    Optional<Long> findOwnerId(Long taskId);
     Optional<Task> findById(Long id);
     Optional<Task> findByIdAndUserId(Long taskId, Long userId);
     List<Task> findByUserId(Long userId);
@@ -23,4 +33,10 @@ public interface TaskService {
     void deleteByIdAndUserId(Long id, Long userId);
     boolean existsByIdAndUserId(Long id, Long userId);
     List<Task> findAll();
+    TaskPageResponse findPage(Long userId, TaskFilterRequest filter, String sort, String cursor, Integer limit);
+    void streamAllTasks(Consumer<TaskResponse> action);
+    List<TaskResponse> searchTasks(Long userId, String query, Integer limit);
+    TaskImportResponse importTasks(Long userId, Iterator<TaskRequest> taskRequests);
+    List<Long> setCompleted(Long userId, Collection<Long> taskIds, boolean completed);
+    List<Long> deleteTasks(Long userId, Collection<Long> taskIds);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.todoapplication.service;
+
+import com.example.todoapplication.dto.response.TaskSummaryResponse;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.repository.TaskSummaryRepository.TaskState;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface TaskSummaryService {
+    // Locks the task row (null taskId for new tasks) and backfills the user's counters; call before writing the task
+    TaskState beforeWrite(Long userId, Long taskId);
+    // Applies the difference between the state returned by beforeWrite and the written task (null when deleted)
+    void afterWrite(Long userId, TaskState before, Task after);
+    // Net changes of a set-based write (bulk insert, update or delete); call beforeWrite(userId, null) before it
+    void applyDeltas(Long userId, long totalDelta, long completedDelta, Map<LocalDate, Long> openByDueDateDelta);
+    TaskSummaryResponse getSummary(Long userId);
+    void deleteForUser(Long userId);
+}
@@ -0,0 +1,5 @@
+package com.example.todoapplication.service;
+
+public interface UserPurgeService {
+    int purgeDeletedUsers();
+}
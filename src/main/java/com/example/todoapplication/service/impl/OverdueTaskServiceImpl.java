@@ -0,0 +1,122 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.event.TasksOverdueEvent;
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.TaskRepository.OverdueTaskView;
+import com.example.todoapplication.service.OverdueTaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+public class OverdueTaskServiceImpl implements OverdueTaskService {
+    private static final Logger logger = LoggerFactory.getLogger(OverdueTaskServiceImpl.class);
+
+    // Only open, not yet reported tasks are indexed, so the scan reads a small index that empties as it goes.
+    // Hibernate can't declare partial indexes; CONCURRENTLY keeps task writes flowing while it is built.
+    private static final String OVERDUE_SCAN_INDEX_DDL =
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_overdue_scan ON tasks (due_date, id) " +
+            "WHERE completed = false AND overdue_notified = false";
+
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean scanEnabled;
+    private final int scanBatchSize;
+    private final Timer scanTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter markedTasks;
+
+    public OverdueTaskServiceImpl(TaskRepository taskRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.tasks.overdue.scan-enabled:true}") boolean scanEnabled,
+                                  @Value("${app.tasks.overdue.scan-batch-size:500}") int scanBatchSize) {
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.scanEnabled = scanEnabled;
+        this.scanBatchSize = scanBatchSize;
+        this.scanTimer = Timer.builder("tasks.overdue.scan")
+                .description("Duration of a full overdue scan")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("tasks.overdue.scan.batch.size")
+                .description("Tasks marked overdue per scan batch")
+                .register(meterRegistry);
+        this.markedTasks = Counter.builder("tasks.overdue.marked")
+                .description("Tasks newly marked overdue")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createOverdueScanIndex() {
+        if (!scanEnabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute(OVERDUE_SCAN_INDEX_DDL);
+        } catch (DataAccessException e) {
+            logger.warn("Could not create the overdue scan index, the scan falls back to other indexes: {}",
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getOverdueTasks(Long userId) {
+        return taskRepository.findOverdueTasks(userId, LocalDate.now());
+    }
+
+    // Each batch commits on its own and is then reported as a TasksOverdueEvent; marked tasks leave the
+    // partial index, so every batch starts at its head. The scan is PostgreSQL only (app.tasks.overdue.scan-enabled).
+    @Override
+    @Scheduled(fixedDelayString = "${app.tasks.overdue.scan-interval:PT5M}")
+    public int scanOverdueTasks() {
+        if (!scanEnabled) {
+            return 0;
+        }
+        LocalDate today = LocalDate.now();
+        Timer.Sample sample = Timer.start();
+        int total = 0;
+        int marked;
+        do {
+            List<OverdueTaskView> batch = transactionTemplate.execute(status ->
+                    taskRepository.markOverdueBatch(today, scanBatchSize));
+            marked = batch == null ? 0 : batch.size();
+            if (marked > 0) {
+                batchSizes.record(marked);
+                markedTasks.increment(marked);
+                eventPublisher.publishEvent(new TasksOverdueEvent(batch));
+            }
+            total += marked;
+        } while (marked == scanBatchSize);
+        sample.stop(scanTimer);
+
+        if (total > 0) {
+            logger.info("Marked {} tasks overdue", total);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.dto.response.JwtResponse;
+import com.example.todoapplication.exception.TokenRefreshException;
+import com.example.todoapplication.model.RefreshToken;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.repository.RefreshTokenRepository;
+import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.security.JwtService;
+import com.example.todoapplication.security.UserDetailsImpl;
+import com.example.todoapplication.service.RefreshTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenServiceImpl.class);
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration tokenTtl;
+    private final int cleanupBatchSize;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   UserRepository userRepository,
+                                   JwtService jwtService,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.security.refresh-token.ttl:P7D}") Duration tokenTtl,
+                                   @Value("${app.security.refresh-token.cleanup-batch-size:500}") int cleanupBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tokenTtl = tokenTtl;
+        this.cleanupBatchSize = cleanupBatchSize;
+    }
+
+    @Override
+    @Transactional
+    public String createRefreshToken(Long userId) {
+        return issue(userRepository.getReferenceById(userId));
+    }
+
+    // Rotation: the presented token is consumed and a new one issued in the same transaction
+    @Override
+    @Transactional
+    public JwtResponse refresh(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findWithUserByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new TokenRefreshException("Error: Refresh token is invalid or expired"));
+
+        if (current.getExpiresAt().isBefore(LocalDateTime.now())
+                || refreshTokenRepository.deleteTokenById(current.getId()) == 0) {
+            throw new TokenRefreshException("Error: Refresh token is invalid or expired");
+        }
+
+        User user = current.getUser();
+        UserDetailsImpl userDetails = UserDetailsImpl.build(user);
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        JwtResponse response = new JwtResponse(jwtService.generateToken(userDetails),
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getEmail(),
+                roles);
+        response.setRefreshToken(issue(user));
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    // Each batch commits on its own so the cleanup never holds row locks for long
+    @Override
+    @Scheduled(fixedDelayString = "${app.security.refresh-token.cleanup-interval:PT1H}")
+    public int purgeExpiredTokens() {
+        int total = 0;
+        int deleted;
+        do {
+            Integer batch = transactionTemplate.execute(status ->
+                    refreshTokenRepository.deleteExpiredBatch(LocalDateTime.now(), cleanupBatchSize));
+            deleted = batch == null ? 0 : batch;
+            total += deleted;
+        } while (deleted == cleanupBatchSize);
+
+        if (total > 0) {
+            logger.info("Purged {} expired refresh tokens", total);
+        }
+        return total;
+    }
+
+    private String issue(User user) {
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(tokenBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
+        refreshTokenRepository.save(new RefreshToken(hash(token), user, LocalDateTime.now().plus(tokenTtl)));
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
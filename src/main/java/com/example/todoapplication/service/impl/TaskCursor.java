@@ -0,0 +1,52 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.exception.CustomException;
+import com.example.todoapplication.repository.TaskSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset cursor: base64url("sortSpec|lastValue|lastId"). Clients only echo it back.
+final class TaskCursor {
+    private static final char SEPARATOR = '|';
+
+    private final Comparable<?> value;
+    private final Long id;
+
+    private TaskCursor(Comparable<?> value, Long id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    Comparable<?> getValue() {
+        return value;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    static String encode(String sortSpec, TaskSortKey sortKey, TaskResponse last) {
+        Object value = sortKey == TaskSortKey.ID ? null : sortKey.valueOf(last);
+        String raw = sortSpec + SEPARATOR + (value == null ? "" : value) + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The value sits between the first and last separator, so it may itself contain one (e.g. a title)
+    static TaskCursor decode(String cursor, String sortSpec, TaskSortKey sortKey) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last || !raw.substring(0, first).equals(sortSpec)) {
+                throw new CustomException("Error: Invalid cursor");
+            }
+            String value = raw.substring(first + 1, last);
+            return new TaskCursor(value.isEmpty() ? null : sortKey.parse(value), Long.valueOf(raw.substring(last + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CustomException("Error: Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.event.TaskChangedEvent;
+import com.example.todoapplication.event.UserChangedEvent;
+import com.example.todoapplication.version.TaskVersionTracker;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.function.Function;
+
+// Per-user task lists for TaskServiceImpl, bounded by the total number of cached tasks (W-TinyLFU eviction).
+// Each list is tagged with the user's TaskVersionTracker version read before it was loaded: the version is
+// bumped after every committed write, so a list loaded concurrently with a write is never served afterwards.
+// Hits and misses are exported as cache.gets with cache=userTasks.
+@Component
+public class TaskListCache {
+    private record CachedTasks(long version, List<TaskResponse> tasks) {
+    }
+
+    private final TaskVersionTracker taskVersionTracker;
+    private final ConcurrentStatsCounter stats = new ConcurrentStatsCounter();
+    private final Cache<Long, CachedTasks> cache;
+
+    public TaskListCache(TaskVersionTracker taskVersionTracker,
+                         @Value("${app.tasks.cache.maximum-weight:100000}") long maximumWeight,
+                         MeterRegistry meterRegistry) {
+        this.taskVersionTracker = taskVersionTracker;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Long userId, CachedTasks cached) -> cached.tasks().size() + 1)
+                .recordStats(() -> stats)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userTasks");
+    }
+
+    // Returns an unmodifiable list; a stale or missing entry counts as a miss and is reloaded
+    public List<TaskResponse> get(Long userId, Function<Long, List<TaskResponse>> loader) {
+        long version = taskVersionTracker.userVersion(userId);
+        CachedTasks cached = cache.asMap().get(userId);
+        if (cached != null && cached.version() == version) {
+            stats.recordHits(1);
+            return cached.tasks();
+        }
+        stats.recordMisses(1);
+
+        long start = System.nanoTime();
+        List<TaskResponse> tasks = List.copyOf(loader.apply(userId));
+        stats.recordLoadSuccess(System.nanoTime() - start);
+        // A slower loader must not replace a list loaded for a newer version
+        cache.asMap().merge(userId, new CachedTasks(version, tasks),
+                (existing, loaded) -> existing.version() > loaded.version() ? existing : loaded);
+        return tasks;
+    }
+
+    // Fresh list for the user if one is cached, null otherwise; never loads
+    public List<TaskResponse> getIfFresh(Long userId) {
+        CachedTasks cached = cache.asMap().get(userId);
+        return cached != null && cached.version() == taskVersionTracker.userVersion(userId) ? cached.tasks() : null;
+    }
+
+    // The version check already hides stale lists; dropping them right away frees their weight
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        cache.invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidate(event.getUserId());
+    }
+}
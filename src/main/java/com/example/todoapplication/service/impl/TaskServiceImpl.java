@@ -1,29 +1,108 @@
 package com.example.todoapplication.service.impl;
 
+import com.example.todoapplication.dto.request.TaskFilterRequest;
 import com.example.todoapplication.dto.request.TaskRequest;
+import com.example.todoapplication.dto.response.TaskImportItemResult;
+import com.example.todoapplication.dto.response.TaskImportResponse;
+import com.example.todoapplication.dto.response.TaskPageResponse;
 import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.event.TaskChangedEvent;
+import com.example.todoapplication.exception.ConflictException;
 import com.example.todoapplication.exception.CustomException;
+import com.example.todoapplication.exception.ForbiddenException;
+import com.example.todoapplication.exception.NotFoundException;
 import com.example.todoapplication.model.Task;
 import com.example.todoapplication.model.User;
+import com.example.todoapplication.repository.TaskPageQuery;
 import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.TaskRepository.DeletedTaskView;
+import com.example.todoapplication.repository.TaskRepository.TaskRowView;
+import com.example.todoapplication.repository.TaskSortKey;
+import com.example.todoapplication.repository.TaskSummaryRepository.TaskState;
 import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.search.TaskSearchIndex;
 import com.example.todoapplication.service.TaskService;
+import com.example.todoapplication.service.TaskSummaryService;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Every public method is timed as service.method (class and method tags) by the @Timed aspect
 @Service
+@Timed(value = "service.method", histogram = true)
 public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskSummaryService taskSummaryService;
+    private final TaskListCache taskListCache;
+    private final Validator validator;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int streamFetchSize;
+    private final int importBatchSize;
+    private final int importMaxItems;
+    private final Timer taskConversion;
 
-    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, UserRepository userRepository,
+                           EntityManager entityManager,
+                           ApplicationEventPublisher eventPublisher,
+                           TaskSearchIndex taskSearchIndex,
+                           TaskSummaryService taskSummaryService,
+                           TaskListCache taskListCache,
+                           Validator validator,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.tasks.page.default-size:20}") int defaultPageSize,
+                           @Value("${app.tasks.page.max-size:100}") int maxPageSize,
+                           @Value("${app.tasks.stream.fetch-size:500}") int streamFetchSize,
+                           @Value("${app.tasks.bulk.batch-size:50}") int importBatchSize,
+                           @Value("${app.tasks.bulk.max-items:10000}") int importMaxItems) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.taskSearchIndex = taskSearchIndex;
+        this.taskSummaryService = taskSummaryService;
+        this.taskListCache = taskListCache;
+        this.validator = validator;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.streamFetchSize = streamFetchSize;
+        this.importBatchSize = importBatchSize;
+        this.importMaxItems = importMaxItems;
+        this.taskConversion = Timer.builder("dto.conversion")
+                .description("Time to build a response DTO from an entity, lazy loads included")
+                .tag("dto", "TaskResponse")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
@@ -38,14 +117,14 @@ public class TaskServiceImpl implements TaskService {
         task.setCompleted(taskRequest.isCompleted());
         task.setDueDate(taskRequest.getDueDate()); // Make sure this line exists
         task.setUser(user);
-        Task savedTask = taskRepository.save(task);
-        return convertToTaskResponse(savedTask);
+        Task savedTask = saveAndCount(task);
+        return publishSaved(savedTask);
     }
 
     @Transactional(readOnly = true)
     @Override
     public Optional<Task> findById(Long id) {
-        return taskRepository.findById(id);
+        return taskRepository.findWithUserById(id);
     }
     @Override
     public Optional<Task> findByIdAndUserId(Long taskId, Long userId) {
@@ -56,17 +135,22 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findByUserId(userId);
     }
     @Override
+    @Transactional
     public Task save(Task task) {
-        return taskRepository.save(task);
+        Task savedTask = saveAndCount(task);
+        publishSaved(savedTask);
+        return savedTask;
     }
     @Override
+    @Transactional
     public void deleteById(Long id) {
-
-        taskRepository.deleteById(id);
+        // findById is served from the persistence context when the caller already loaded the task
+        taskRepository.findById(id).ifPresent(this::deleteAndPublish);
     }
     @Override
+    @Transactional
     public void deleteByIdAndUserId(Long taskId, Long userId) {
-        taskRepository.deleteByIdAndUserId(taskId, userId);
+        taskRepository.findByIdAndUserId(taskId, userId).ifPresent(this::deleteAndPublish);
     }
     @Override
     public boolean existsByIdAndUserId(Long taskId, Long userId) {
@@ -77,6 +161,48 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageResponse findPage(Long userId, TaskFilterRequest filter, String sort, String cursor, Integer limit) {
+        // sort is "key" or "key,asc|desc" with key from the TaskSortKey whitelist
+        String[] sortParts = (sort == null ? TaskSortKey.ID.getAttribute() : sort).split(",", 2);
+        TaskSortKey sortKey = TaskSortKey.fromAttribute(sortParts[0].trim())
+                .orElseThrow(() -> new CustomException("Error: Unsupported sort key: " + sortParts[0]));
+        String direction = sortParts.length > 1 ? sortParts[1].trim().toLowerCase() : "asc";
+        if (!direction.equals("asc") && !direction.equals("desc")) {
+            throw new CustomException("Error: Unsupported sort direction: " + sortParts[1]);
+        }
+        String sortSpec = sortKey.getAttribute() + "," + direction;
+
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        TaskCursor after = cursor == null ? null : TaskCursor.decode(cursor, sortSpec, sortKey);
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<TaskResponse> rows = taskRepository.findPage(new TaskPageQuery(userId, filter, sortKey,
+                direction.equals("asc"),
+                after == null ? null : after.getValue(),
+                after == null ? null : after.getId(),
+                pageSize + 1));
+
+        List<TaskResponse> items = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String nextCursor = rows.size() > pageSize ? TaskCursor.encode(sortSpec, sortKey, items.get(items.size() - 1)) : null;
+        return new TaskPageResponse(items, nextCursor);
+    }
+
+    // Rows are converted and detached one at a time, so heap use doesn't grow with the table
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllTasks(Consumer<TaskResponse> action) {
+        try (Stream<Task> tasks = taskRepository.streamAll(streamFetchSize)) {
+            tasks.forEach(task -> {
+                TaskResponse response = convertToTaskResponse(task);
+                entityManager.detach(task.getUser());
+                entityManager.detach(task);
+                action.accept(response);
+            });
+        }
+    }
+
     @Override
     @Transactional
     public TaskResponse updateTask(Long taskId, TaskRequest taskRequest, Long userId) {
@@ -88,8 +214,45 @@ public class TaskServiceImpl implements TaskService {
         task.setCompleted(taskRequest.isCompleted());
         task.setUpdatedAt(LocalDateTime.now());
         task.setDueDate(taskRequest.getDueDate());
-        Task updatedTask = taskRepository.save(task);
-        return convertToTaskResponse(updatedTask);
+        Task updatedTask = saveAndCount(task);
+        return publishSaved(updatedTask);
+    }
+
+    // JSON Merge Patch (RFC 7396): only the fields present change, null clears an optional field. With
+    // @DynamicUpdate the UPDATE names just those columns; a "version" member is a precondition checked
+    // against the loaded row, and a concurrent commit after the load is caught by the @Version check.
+    @Override
+    @Transactional
+    public TaskResponse patchTask(Long taskId, Long userId, JsonNode mergePatch) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw new CustomException("Error: A merge patch must be a JSON object");
+        }
+        Task task = taskRepository.findByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> missingTask(taskId));
+
+        JsonNode expectedVersion = mergePatch.get("version");
+        if (expectedVersion != null && (!expectedVersion.canConvertToLong()
+                || expectedVersion.longValue() != task.getVersion())) {
+            throw new ConflictException("Task " + taskId + " has changed, current version is " + task.getVersion());
+        }
+
+        Set<String> changed = applyMergePatch(task, mergePatch);
+        if (changed.isEmpty()) {
+            return convertToTaskResponse(task);
+        }
+        String errors = changed.stream()
+                .flatMap(property -> validator.validateProperty(task, property).stream())
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+        if (!errors.isEmpty()) {
+            throw new CustomException("Error: " + errors);
+        }
+
+        Task updatedTask = saveAndCount(task);
+        // Flush here so the version check and the new version are part of the response
+        taskRepository.flush();
+        return publishSaved(updatedTask);
     }
 
     @Override
@@ -97,48 +260,324 @@ public class TaskServiceImpl implements TaskService {
     public void deleteTask(Long taskId, Long userId) {
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new CustomException("Task not found or you don't have permission"));
-        taskRepository.delete(task);
+        deleteAndPublish(task);
     }
 
     @Override
     @Transactional(readOnly = true)
     public TaskResponse getTaskById(Long taskId, Long userId) {
+        // A fresh cached list is authoritative for the user's tasks
+        List<TaskResponse> cachedTasks = taskListCache.getIfFresh(userId);
+        if (cachedTasks != null) {
+            return cachedTasks.stream()
+                    .filter(task -> task.getId().equals(taskId))
+                    .findFirst()
+                    .orElseThrow(() -> new CustomException("Task not found or you don't have permission"));
+        }
         Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new CustomException("Task not found or you don't have permission"));
         return convertToTaskResponse(task);
     }
 
+    // No service transaction: a cache hit must not borrow a connection, and the repository query has its own
     @Override
-    @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasksByUserId(Long userId) {
-        return taskRepository.findByUserId(userId).stream()
-                .map(this::convertToTaskResponse)
-                .collect(Collectors.toList());
+        return taskListCache.get(userId, taskRepository::findResponsesByUserId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(this::convertToTaskResponse)
-                .collect(Collectors.toList());
+        return taskRepository.findAllResponses();
     }
 
     @Override
     @Transactional
     public TaskResponse toggleTaskCompletion(Long taskId, Long userId) {
-        Task task = taskRepository.findByIdAndUserId(taskId, userId)
-                .orElseThrow(() -> new CustomException("Task not found or you don't have permission"));
+        // Counters must exist before the statement adjusts them; after the first write this costs nothing
+        taskSummaryService.beforeWrite(userId, null);
+        return taskRepository.toggleCompletedByIdAndUserId(taskId, userId, LocalDateTime.now())
+                .map(this::publishSaved)
+                .orElseThrow(() -> missingTask(taskId));
+    }
 
-        task.setCompleted(!task.isCompleted());
-        task.setUpdatedAt(LocalDateTime.now());
+    @Override
+    @Transactional
+    public TaskResponse setTaskCompleted(Long taskId, Long userId, boolean completed) {
+        taskSummaryService.beforeWrite(userId, null);
+        Optional<TaskRowView> changed = taskRepository.updateCompletedByIdAndUserId(
+                taskId, userId, completed, LocalDateTime.now());
+        if (changed.isPresent()) {
+            return publishSaved(changed.get());
+        }
+        // Nothing changed: already in that state, or not the caller's task
+        return taskRepository.findResponsesByUserIdAndIdIn(userId, List.of(taskId)).stream()
+                .findFirst()
+                .orElseThrow(() -> missingTask(taskId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findOwnerId(Long taskId) {
+        return taskRepository.findUserIdById(taskId);
+    }
 
-        Task updatedTask = taskRepository.save(task);
-        return convertToTaskResponse(updatedTask);
+    // Candidates come ranked from the in-memory index; rows are read back scoped to the user
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(Long userId, String query, Integer limit) {
+        int resultSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        List<Long> rankedIds = taskSearchIndex.search(userId, query, resultSize);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, TaskResponse> tasksById = taskRepository.findResponsesByUserIdAndIdIn(userId, rankedIds).stream()
+                .collect(Collectors.toMap(TaskResponse::getId, Function.identity()));
+        return rankedIds.stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // One transaction for the whole import. Valid items are persisted and flushed every importBatchSize tasks,
+    // so Hibernate sends them as JDBC batches, then the session is cleared to keep memory flat. Invalid items
+    // are reported by index and skipped; the summary counters are updated once at the end.
+    @Override
+    @Transactional
+    public TaskImportResponse importTasks(Long userId, Iterator<TaskRequest> taskRequests) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new CustomException("User not found"));
+        String username = user.getUsername();
+        taskSummaryService.beforeWrite(userId, null);
+
+        List<TaskImportItemResult> results = new ArrayList<>();
+        List<Task> batch = new ArrayList<>(importBatchSize);
+        Map<LocalDate, Long> openByDueDate = new HashMap<>();
+        int imported = 0;
+        long completed = 0;
+        for (int index = 0; taskRequests.hasNext(); index++) {
+            if (index == importMaxItems) {
+                throw new CustomException("Error: A bulk import is limited to " + importMaxItems + " tasks");
+            }
+            TaskRequest taskRequest = taskRequests.next();
+            Task task = new Task();
+            task.setTitle(taskRequest.getTitle());
+            task.setDescription(taskRequest.getDescription());
+            task.setCompleted(taskRequest.isCompleted());
+            task.setDueDate(taskRequest.getDueDate());
+            task.setUser(entityManager.getReference(User.class, userId));
+
+            Set<ConstraintViolation<Task>> violations = validator.validate(task);
+            if (!violations.isEmpty()) {
+                results.add(TaskImportItemResult.rejected(index, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "))));
+                continue;
+            }
+
+            entityManager.persist(task);
+            results.add(TaskImportItemResult.imported(index, task.getId()));
+            imported++;
+            if (task.isCompleted()) {
+                completed++;
+            } else if (task.getDueDate() != null) {
+                openByDueDate.merge(task.getDueDate(), 1L, Long::sum);
+            }
+            batch.add(task);
+            if (batch.size() == importBatchSize) {
+                flushImportBatch(batch, userId, username);
+            }
+        }
+        flushImportBatch(batch, userId, username);
+
+        taskSummaryService.applyDeltas(userId, imported, completed, openByDueDate);
+        return new TaskImportResponse(imported, results.size() - imported, results);
+    }
+
+    // One ownership-scoped UPDATE ... RETURNING; counters and events are derived from the returned rows
+    @Override
+    @Transactional
+    public List<Long> setCompleted(Long userId, Collection<Long> taskIds, boolean completed) {
+        taskSummaryService.beforeWrite(userId, null);
+        List<TaskRowView> updated = taskRepository.updateCompletedByIdInAndUserId(
+                taskIds, userId, completed, LocalDateTime.now());
+
+        // Every returned task switched state, so it left one side of the counters for the other
+        long direction = completed ? 1 : -1;
+        Map<LocalDate, Long> openByDueDate = new HashMap<>();
+        List<Long> ids = new ArrayList<>(updated.size());
+        for (TaskRowView row : updated) {
+            if (row.getDueDate() != null) {
+                openByDueDate.merge(row.getDueDate(), -direction, Long::sum);
+            }
+            ids.add(row.getId());
+            publishSaved(row);
+        }
+        taskSummaryService.applyDeltas(userId, 0, direction * updated.size(), openByDueDate);
+        return ids;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> deleteTasks(Long userId, Collection<Long> taskIds) {
+        taskSummaryService.beforeWrite(userId, null);
+        List<DeletedTaskView> deleted = taskRepository.deleteByIdInAndUserIdReturning(taskIds, userId);
+
+        long completed = 0;
+        Map<LocalDate, Long> openByDueDate = new HashMap<>();
+        List<Long> ids = new ArrayList<>(deleted.size());
+        for (DeletedTaskView row : deleted) {
+            if (row.getCompleted()) {
+                completed++;
+            } else if (row.getDueDate() != null) {
+                openByDueDate.merge(row.getDueDate(), -1L, Long::sum);
+            }
+            ids.add(row.getId());
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(userId, row.getId()));
+        }
+        taskSummaryService.applyDeltas(userId, -deleted.size(), -completed, openByDueDate);
+        return ids;
+    }
+
+    private void flushImportBatch(List<Task> batch, Long userId, String username) {
+        entityManager.flush();
+        for (Task task : batch) {
+            eventPublisher.publishEvent(TaskChangedEvent.saved(new TaskResponse(
+                    task.getId(),
+                    task.getTitle(),
+                    task.getDescription(),
+                    task.isCompleted(),
+                    task.getCreatedAt(),
+                    task.getUpdatedAt(),
+                    task.getDueDate(),
+                    userId,
+                    username,
+                    task.getVersion())));
+        }
+        entityManager.clear();
+        batch.clear();
+    }
+
+    private TaskResponse publishSaved(Task task) {
+        TaskResponse response = convertToTaskResponse(task);
+        eventPublisher.publishEvent(TaskChangedEvent.saved(response));
+        return response;
+    }
+
+    // Returns the properties whose value actually changed
+    private static Set<String> applyMergePatch(Task task, JsonNode mergePatch) {
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, JsonNode> field : mergePatch.properties()) {
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "title" -> {
+                    String title = textOrNull(field.getKey(), value);
+                    if (!Objects.equals(title, task.getTitle())) {
+                        task.setTitle(title);
+                        changed.add("title");
+                    }
+                }
+                case "description" -> {
+                    String description = textOrNull(field.getKey(), value);
+                    if (!Objects.equals(description, task.getDescription())) {
+                        task.setDescription(description);
+                        changed.add("description");
+                    }
+                }
+                case "dueDate" -> {
+                    LocalDate dueDate = dateOrNull(value);
+                    if (!Objects.equals(dueDate, task.getDueDate())) {
+                        task.setDueDate(dueDate);
+                        changed.add("dueDate");
+                    }
+                }
+                case "completed" -> {
+                    if (!value.isBoolean()) {
+                        throw new CustomException("Error: completed must be true or false");
+                    }
+                    if (value.booleanValue() != task.isCompleted()) {
+                        task.setCompleted(value.booleanValue());
+                        changed.add("completed");
+                    }
+                }
+                case "version" -> {
+                    // Precondition only, checked by patchTask
+                }
+                default -> throw new CustomException("Error: Unknown task field: " + field.getKey());
+            }
+        }
+        return changed;
+    }
+
+    private static String textOrNull(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new CustomException("Error: " + name + " must be a string");
+        }
+        return value.textValue();
+    }
+
+    private static LocalDate dateOrNull(JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.asText());
+        } catch (DateTimeParseException e) {
+            throw new CustomException("Error: dueDate must be a date like 2025-01-31");
+        }
+    }
+
+    private TaskResponse publishSaved(TaskRowView row) {
+        TaskResponse response = new TaskResponse(
+                row.getId(),
+                row.getTitle(),
+                row.getDescription(),
+                row.getCompleted(),
+                row.getCreatedAt(),
+                row.getUpdatedAt(),
+                row.getDueDate(),
+                row.getUserId(),
+                row.getUsername(),
+                row.getVersion());
+        eventPublisher.publishEvent(TaskChangedEvent.saved(response));
+        return response;
+    }
+
+    // Only called after an ownership-scoped statement matched nothing
+    private CustomException missingTask(Long taskId) {
+        return taskRepository.findUserIdById(taskId).isPresent()
+                ? new ForbiddenException("You don't have permission to access this task")
+                : new NotFoundException("Task not found with id: " + taskId);
+    }
+
+    // Every task write goes through here or deleteAndPublish so the summary counters change in the same transaction
+    private Task saveAndCount(Task task) {
+        Long userId = task.getUser().getId();
+        TaskState before = taskSummaryService.beforeWrite(userId, task.getId());
+        Task savedTask = taskRepository.save(task);
+        taskSummaryService.afterWrite(userId, before, savedTask);
+        if (before != null && before.getOverdueNotified()
+                && (before.getCompleted() != savedTask.isCompleted()
+                || !Objects.equals(before.getDueDate(), savedTask.getDueDate()))) {
+            taskRepository.clearOverdueNotified(savedTask.getId());
+        }
+        return savedTask;
+    }
+
+    private void deleteAndPublish(Task task) {
+        Long userId = task.getUser().getId();
+        TaskState before = taskSummaryService.beforeWrite(userId, task.getId());
+        taskRepository.delete(task);
+        taskSummaryService.afterWrite(userId, before, null);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(task.getUser().getId(), task.getId()));
     }
 
     private TaskResponse convertToTaskResponse(Task task) {
-        return new TaskResponse(
+        return taskConversion.record(() -> new TaskResponse(
                 task.getId(),
                 task.getTitle(),
                 task.getDescription(),
@@ -147,7 +586,8 @@ public class TaskServiceImpl implements TaskService {
                 task.getUpdatedAt(),
                 task.getDueDate(),
                 task.getUser().getId(),
-                task.getUser().getUsername()
-        );
+                task.getUser().getUsername(),
+                task.getVersion()
+        ));
     }
 }
@@ -0,0 +1,130 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.dto.response.TaskSummaryResponse;
+import com.example.todoapplication.exception.NotFoundException;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.repository.TaskSummaryRepository;
+import com.example.todoapplication.repository.TaskSummaryRepository.SummaryCounts;
+import com.example.todoapplication.repository.TaskSummaryRepository.TaskState;
+import com.example.todoapplication.service.TaskSummaryService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Counters are changed by the same transaction as the task itself. Every writer locks the task row before
+// reading its prior state, so concurrent toggles of one task see each other's committed result and the
+// deltas always match what ends up in the tasks table.
+@Service
+public class TaskSummaryServiceImpl implements TaskSummaryService {
+    private final TaskSummaryRepository taskSummaryRepository;
+    // Users whose counters are known to exist, so steady-state writes skip the existence check
+    private final Set<Long> initializedUsers = ConcurrentHashMap.newKeySet();
+
+    public TaskSummaryServiceImpl(TaskSummaryRepository taskSummaryRepository) {
+        this.taskSummaryRepository = taskSummaryRepository;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public TaskState beforeWrite(Long userId, Long taskId) {
+        TaskState before = taskId == null ? null : taskSummaryRepository.lockTaskState(taskId).orElse(null);
+        // Backfill must count the tasks table before this transaction changes it
+        ensureInitialized(userId);
+        return before;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void afterWrite(Long userId, TaskState before, Task after) {
+        boolean completedBefore = before != null && before.getCompleted();
+        boolean completedAfter = after != null && after.isCompleted();
+        long totalDelta = (after != null ? 1 : 0) - (before != null ? 1 : 0);
+        long completedDelta = (completedAfter ? 1 : 0) - (completedBefore ? 1 : 0);
+        if (totalDelta != 0 || completedDelta != 0) {
+            taskSummaryRepository.addToSummary(userId, totalDelta, completedDelta);
+        }
+
+        LocalDate openDueBefore = before != null && !completedBefore ? before.getDueDate() : null;
+        LocalDate openDueAfter = after != null && !completedAfter ? after.getDueDate() : null;
+        if (Objects.equals(openDueBefore, openDueAfter)) {
+            return;
+        }
+        // Buckets are always locked in date order so two moves between the same dates cannot deadlock
+        if (openDueBefore != null && (openDueAfter == null || openDueBefore.isBefore(openDueAfter))) {
+            leaveBucket(userId, openDueBefore);
+            if (openDueAfter != null) {
+                taskSummaryRepository.addToDueBucket(userId, openDueAfter, 1);
+            }
+        } else {
+            taskSummaryRepository.addToDueBucket(userId, openDueAfter, 1);
+            if (openDueBefore != null) {
+                leaveBucket(userId, openDueBefore);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyDeltas(Long userId, long totalDelta, long completedDelta, Map<LocalDate, Long> openByDueDateDelta) {
+        if (totalDelta != 0 || completedDelta != 0) {
+            taskSummaryRepository.addToSummary(userId, totalDelta, completedDelta);
+        }
+        // Date order, like afterWrite
+        new TreeMap<>(openByDueDateDelta).forEach((dueDate, delta) -> {
+            if (delta > 0) {
+                taskSummaryRepository.addToDueBucket(userId, dueDate, delta);
+            } else if (delta < 0) {
+                taskSummaryRepository.addToDueBucket(userId, dueDate, delta);
+                taskSummaryRepository.deleteEmptyDueBucket(userId, dueDate);
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public TaskSummaryResponse getSummary(Long userId) {
+        LocalDate today = LocalDate.now();
+        SummaryCounts counts = taskSummaryRepository.findCounts(userId, today).orElseGet(() -> {
+            ensureInitialized(userId);
+            // Still no row: the user is deleted (or never existed)
+            return taskSummaryRepository.findCounts(userId, today)
+                    .orElseThrow(() -> new NotFoundException("User not found with id: " + userId));
+        });
+        return new TaskSummaryResponse(userId, counts.getTotal(), counts.getCompleted(),
+                counts.getOverdue(), counts.getDueToday());
+    }
+
+    @Override
+    @Transactional
+    public void deleteForUser(Long userId) {
+        initializedUsers.remove(userId);
+        taskSummaryRepository.deleteDueBucketsByUserId(userId);
+        taskSummaryRepository.deleteSummaryByUserId(userId);
+    }
+
+    // Users whose tasks predate the counters are counted once; the summary row's key makes
+    // concurrent initializers wait for the first one and then skip. Only a row seen before this transaction
+    // wrote anything is remembered, so a rolled-back backfill is retried.
+    private void ensureInitialized(Long userId) {
+        if (initializedUsers.contains(userId)) {
+            return;
+        }
+        if (taskSummaryRepository.existsForUser(userId)) {
+            initializedUsers.add(userId);
+        } else if (taskSummaryRepository.initializeSummary(userId) == 1) {
+            taskSummaryRepository.initializeDueBuckets(userId);
+        }
+    }
+
+    private void leaveBucket(Long userId, LocalDate dueDate) {
+        taskSummaryRepository.addToDueBucket(userId, dueDate, -1);
+        taskSummaryRepository.deleteEmptyDueBucket(userId, dueDate);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.repository.RefreshTokenRepository;
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.service.TaskSummaryService;
+import com.example.todoapplication.service.UserPurgeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Removes soft-deleted users: their tasks in chunks of batchSize, each chunk in its own short transaction,
+// then the user row once nothing references it. Work left by a crash is picked up by the next run.
+@Service
+public class UserPurgeServiceImpl implements UserPurgeService {
+    private static final Logger logger = LoggerFactory.getLogger(UserPurgeServiceImpl.class);
+
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TaskSummaryService taskSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int usersPerRun;
+    private final AtomicInteger pendingUsers = new AtomicInteger();
+    private final Timer chunkTimer;
+    private final Counter purgedTasks;
+    private final Counter purgedUsers;
+
+    public UserPurgeServiceImpl(UserRepository userRepository,
+                                TaskRepository taskRepository,
+                                RefreshTokenRepository refreshTokenRepository,
+                                TaskSummaryService taskSummaryService,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.users.purge.batch-size:1000}") int batchSize,
+                                @Value("${app.users.purge.users-per-run:100}") int usersPerRun) {
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.taskSummaryService = taskSummaryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.usersPerRun = usersPerRun;
+        this.chunkTimer = Timer.builder("users.purge.chunk")
+                .description("Duration of one task delete chunk")
+                .register(meterRegistry);
+        this.purgedTasks = Counter.builder("users.purge.tasks")
+                .description("Tasks removed for deleted users")
+                .register(meterRegistry);
+        this.purgedUsers = Counter.builder("users.purge.users")
+                .description("Deleted users fully purged")
+                .register(meterRegistry);
+        Gauge.builder("users.purge.pending", pendingUsers, AtomicInteger::get)
+                .description("Deleted users seen waiting for the purge at the start of the last run")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.users.purge.interval:PT1M}")
+    public int purgeDeletedUsers() {
+        List<Long> userIds = userRepository.findDeletedUserIds(usersPerRun);
+        pendingUsers.set(userIds.size());
+        int purged = 0;
+        for (Long userId : userIds) {
+            long tasks = purgeTasks(userId);
+            Integer removed = transactionTemplate.execute(status -> {
+                refreshTokenRepository.deleteAllByUserId(userId);
+                // Normally already gone since deleteUser; drops anything written while the tasks were purged
+                taskSummaryService.deleteForUser(userId);
+                userRepository.deleteRolesByUserId(userId);
+                return userRepository.deleteDeletedUserById(userId);
+            });
+            if (removed != null && removed > 0) {
+                purgedUsers.increment();
+                pendingUsers.decrementAndGet();
+                purged++;
+                logger.info("Purged deleted user {} and {} tasks", userId, tasks);
+            }
+        }
+        return purged;
+    }
+
+    private long purgeTasks(Long userId) {
+        long total = 0;
+        int deleted;
+        do {
+            Integer chunk = chunkTimer.record(() -> transactionTemplate.execute(status ->
+                    taskRepository.deleteBatchByUserId(userId, batchSize)));
+            deleted = chunk == null ? 0 : chunk;
+            purgedTasks.increment(deleted);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+}
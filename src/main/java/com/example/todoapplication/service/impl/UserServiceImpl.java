@@ -2,49 +2,82 @@ package com.example.todoapplication.service.impl;
 import com.example.todoapplication.dto.request.SignupRequest;
 import com.example.todoapplication.dto.request.UpdateUserRequest;
 import com.example.todoapplication.dto.response.UserResponse;
+import com.example.todoapplication.event.UserChangedEvent;
 import com.example.todoapplication.exception.CustomException;
 import com.example.todoapplication.model.ERole;
 import com.example.todoapplication.model.Role;
 import com.example.todoapplication.model.User;
-import com.example.todoapplication.repository.RoleRepository;
 import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.security.RoleRegistry;
+import com.example.todoapplication.security.TokenEpochRegistry;
+import com.example.todoapplication.security.UserDetailsCache;
+import com.example.todoapplication.service.RefreshTokenService;
+import com.example.todoapplication.service.TaskSummaryService;
 import com.example.todoapplication.service.UserService;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+// The class-level @Timed records each public method under service.method, tagged with this class
 @Service
+@Timed(value = "service.method", histogram = true)
 public class UserServiceImpl implements UserService {
+    private static final String USERNAME_CONSTRAINT = User.USERNAME_CONSTRAINT.toLowerCase(Locale.ROOT);
+    private static final String EMAIL_CONSTRAINT = User.EMAIL_CONSTRAINT.toLowerCase(Locale.ROOT);
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final TokenEpochRegistry tokenEpochRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskSummaryService taskSummaryService;
+    private final Timer userConversion;
 
     public UserServiceImpl(UserRepository userRepository,
-                           RoleRepository roleRepository,
-                           PasswordEncoder passwordEncoder) {
+                           RoleRegistry roleRegistry,
+                           PasswordEncoder passwordEncoder,
+                           TokenEpochRegistry tokenEpochRegistry,
+                           UserDetailsCache userDetailsCache,
+                           RefreshTokenService refreshTokenService,
+                           ApplicationEventPublisher eventPublisher,
+                           TaskSummaryService taskSummaryService,
+                           MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
-        this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
         this.passwordEncoder = passwordEncoder;
+        this.tokenEpochRegistry = tokenEpochRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.refreshTokenService = refreshTokenService;
+        this.eventPublisher = eventPublisher;
+        this.taskSummaryService = taskSummaryService;
+        this.userConversion = Timer.builder("dto.conversion")
+                .description("Time to build a response DTO from an entity, lazy loads included")
+                .tag("dto", "UserResponse")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
     @Transactional
     public void registerUser(SignupRequest signUpRequest) {
-        if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-            throw new CustomException("Error: Username is already taken!");
-        }
-
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            throw new CustomException("Error: Email is already in use!");
-        }
-
+        // No exists checks: the unique constraints reject duplicates and the insert is the only round trip
         User user = new User(
                 signUpRequest.getUsername(),
                 signUpRequest.getEmail(),
@@ -55,32 +88,28 @@ public class UserServiceImpl implements UserService {
         Set<Role> roles = new HashSet<>();
 
         if (strRoles == null) {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new CustomException("Error: Role is not found."));
-            roles.add(userRole);
+            roles.add(roleRegistry.get(ERole.ROLE_USER));
         } else {
             strRoles.forEach(role -> {
                 if ("admin".equals(role)) {
-                    Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                            .orElseThrow(() -> new CustomException("Error: Role is not found."));
-                    roles.add(adminRole);
+                    roles.add(roleRegistry.get(ERole.ROLE_ADMIN));
                 } else {
-                    Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                            .orElseThrow(() -> new CustomException("Error: Role is not found."));
-                    roles.add(userRole);
+                    roles.add(roleRegistry.get(ERole.ROLE_USER));
                 }
             });
         }
 
         user.setRoles(roles);
-        userRepository.save(user);
+        saveAndFlush(user);
     }
 
     @Override
     @Transactional
     public User updateUser(Long userId, UpdateUserRequest updateRequest) {
-        User user = userRepository.findById(userId)
+        // Roles come along: the controller's response lists them
+        User user = userRepository.findWithRolesById(userId)
                 .orElseThrow(() -> new CustomException("Error: User not found."));
+        userDetailsCache.invalidate(user.getUsername());
 
         if (updateRequest.getUsername() != null) {
             user.setUsername(updateRequest.getUsername());
@@ -92,23 +121,35 @@ public class UserServiceImpl implements UserService {
 
         if (updateRequest.getPassword() != null) {
             user.setPassword(passwordEncoder.encode(updateRequest.getPassword()));
+            // A new password ends every session that was kept alive with refresh tokens
+            refreshTokenService.revokeAllForUser(userId);
         }
 
-        return userRepository.save(user);
+        // Tokens carry username and email, so any profile change retires the ones already issued
+        bumpTokenEpoch(user);
+        userDetailsCache.invalidate(user.getUsername());
+        eventPublisher.publishEvent(new UserChangedEvent(userId, false));
+        return saveAndFlush(user);
     }
 
+    // Marks the account deleted and returns; UserPurgeService removes its tasks and the row in chunks later
     @Override
     @Transactional
     public void deleteUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new CustomException("Error: User not found."));
-        userRepository.delete(user);
+        refreshTokenService.revokeAllForUser(userId);
+        taskSummaryService.deleteForUser(userId);
+        user.setDeletedAt(LocalDateTime.now());
+        tokenEpochRegistry.revoke(userId);
+        userDetailsCache.invalidate(user.getUsername());
+        eventPublisher.publishEvent(new UserChangedEvent(userId, true));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<UserResponse> findAll() {
-        return userRepository.findAll().stream()
+        return userRepository.findAllWithRoles().stream()
                 .map(this::convertToUserResponse)
                 .collect(Collectors.toList());
     }
@@ -116,7 +157,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserResponse findById(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithRolesById(userId)
                 .orElseThrow(() -> new CustomException("Error: User not found."));
         return convertToUserResponse(user);
     }
@@ -140,14 +181,14 @@ public class UserServiceImpl implements UserService {
     }
 
     private UserResponse convertToUserResponse(User user) {
-        return new UserResponse(
+        return userConversion.record(() -> new UserResponse(
                 user.getId(),
                 user.getUsername(),
                 user.getEmail(),
                 user.getRoles().stream()
                         .map(role -> role.getName().name())
                         .collect(Collectors.toSet())
-        );
+        ));
     }
 
     @Override
@@ -158,16 +199,44 @@ public class UserServiceImpl implements UserService {
 
         Set<Role> roles = new HashSet<>();
         if ("admin".equalsIgnoreCase(newRole)) {
-            Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                    .orElseThrow(() -> new CustomException("Error: Role not found."));
-            roles.add(adminRole);
+            roles.add(roleRegistry.get(ERole.ROLE_ADMIN));
         } else {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new CustomException("Error: Role not found."));
-            roles.add(userRole);
+            roles.add(roleRegistry.get(ERole.ROLE_USER));
         }
 
         user.setRoles(roles);
+        bumpTokenEpoch(user);
+        userDetailsCache.invalidate(user.getUsername());
         return userRepository.save(user);
     }
+
+    // Flushes inside the service so duplicate usernames and emails surface here, as the messages the
+    // removed pre-checks used to return, instead of as a generic error at commit
+    private User saveAndFlush(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String violation = uniqueViolation(e);
+            if (violation.contains(USERNAME_CONSTRAINT) || violation.contains("(username)")) {
+                throw new CustomException("Error: Username is already taken!");
+            }
+            if (violation.contains(EMAIL_CONSTRAINT) || violation.contains("(email)")) {
+                throw new CustomException("Error: Email is already in use!");
+            }
+            throw e;
+        }
+    }
+
+    // Constraint name when the driver reports it, plus the database message, which names the key columns
+    // for constraints created before they had explicit names
+    private static String uniqueViolation(DataIntegrityViolationException e) {
+        String constraintName = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        return (constraintName + " " + e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+    }
+
+    private void bumpTokenEpoch(User user) {
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
+        tokenEpochRegistry.update(user.getId(), user.getTokenEpoch());
+    }
 }
\ No newline at end of file
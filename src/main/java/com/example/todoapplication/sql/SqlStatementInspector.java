@@ -0,0 +1,17 @@
+package com.example.todoapplication.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Registered through hibernate.session_factory.statement_inspector; Hibernate calls it once per statement
+// it prepares (a JDBC batch counts once). Only counts, the SQL is passed through unchanged.
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.statementPrepared(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.todoapplication.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// SQL work done on the current thread between start() and stop(): statements prepared by Hibernate
+// (SqlStatementInspector), rows read or written and time spent executing (SqlStatisticsDataSource).
+// Scopes nest; a stopped scope adds its counts to the enclosing one, so a test can measure a whole request.
+public final class SqlStatistics {
+    // Request attribute holding the request's statistics once SqlStatisticsFilter is done
+    public static final String REQUEST_ATTRIBUTE = SqlStatistics.class.getName();
+    private static final int MAX_RECORDED_STATEMENTS = 100;
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatistics parent;
+    private final List<String> sql = new ArrayList<>();
+    private int statements;
+    private long rows;
+    private long executionNanos;
+
+    private SqlStatistics(SqlStatistics parent) {
+        this.parent = parent;
+    }
+
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public void stop() {
+        if (CURRENT.get() != this) {
+            return;
+        }
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(parent);
+            parent.add(this);
+        }
+    }
+
+    static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared(String statementSql) {
+        statements++;
+        if (sql.size() < MAX_RECORDED_STATEMENTS) {
+            sql.add(statementSql);
+        }
+    }
+
+    void statementExecuted(long nanos, long rowCount) {
+        executionNanos += nanos;
+        rows += rowCount;
+    }
+
+    void rowsRead(long rowCount) {
+        rows += rowCount;
+    }
+
+    private void add(SqlStatistics child) {
+        statements += child.statements;
+        rows += child.rows;
+        executionNanos += child.executionNanos;
+        for (String statementSql : child.sql) {
+            if (sql.size() < MAX_RECORDED_STATEMENTS) {
+                sql.add(statementSql);
+            }
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    // The first statements in the order they were prepared, to show what an over-budget request ran
+    public List<String> getSql() {
+        return Collections.unmodifiableList(sql);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("statements=%d; rows=%d; time=%.1fms", statements, rows, executionNanos / 1e6);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.todoapplication.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Adds execution time and row counts to the current SqlStatistics: execute* calls are timed, update counts
+// are taken from their results and rows read are counted on ResultSet.next(). Threads without statistics
+// (startup, schedulers, streaming bodies) go straight to the driver.
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    public SqlStatisticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return measuredConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return measuredConnection(super.getConnection(username, password));
+    }
+
+    private Connection measuredConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    // prepareStatement, prepareCall and createStatement hand out statements to measure
+                    if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                        return measuredStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private Object measuredStatement(Statement statement, Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    SqlStatistics statistics = SqlStatistics.current();
+                    if (statistics == null) {
+                        return invoke(statement, method, args);
+                    }
+                    String name = method.getName();
+                    if (name.startsWith("execute")) {
+                        long start = System.nanoTime();
+                        Object result = invoke(statement, method, args);
+                        statistics.statementExecuted(System.nanoTime() - start, updateCount(result));
+                        return result instanceof ResultSet resultSet ? countingResultSet(resultSet) : result;
+                    }
+                    if (name.equals("getResultSet")) {
+                        Object result = invoke(statement, method, args);
+                        return result instanceof ResultSet resultSet ? countingResultSet(resultSet) : result;
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private ResultSet countingResultSet(ResultSet resultSet) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                        SqlStatistics statistics = SqlStatistics.current();
+                        if (statistics != null) {
+                            statistics.rowsRead(1);
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    // executeUpdate and executeLargeUpdate return the row count, executeBatch one count per batched statement
+    private static long updateCount(Object result) {
+        if (result instanceof Number count) {
+            return Math.max(0, count.longValue());
+        }
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(0, count);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(0, count);
+            }
+        }
+        return rows;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.todoapplication.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Measures the SQL work of every HTTP request, security filters included, and records it per controller
+// method (handler tag, e.g. TaskController.getAllTasks). Work done by streaming bodies on async threads
+// is not attributed. With app.sql-stats.debug-header the counts are also sent as the X-SQL-Stats header.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-SQL-Stats";
+    private static final String NO_HANDLER = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean debugHeader;
+    private final Map<String, HandlerMeters> meters = new ConcurrentHashMap<>();
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry,
+                               @Value("${app.sql-stats.enabled:false}") boolean enabled,
+                               @Value("${app.sql-stats.debug-header:false}") boolean debugHeader) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.debugHeader = debugHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.start();
+        HttpServletResponse target = debugHeader ? new StatisticsHeaderResponse(response, statistics) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            statistics.stop();
+            request.setAttribute(SqlStatistics.REQUEST_ATTRIBUTE, statistics);
+            // Bodiless responses (204, 304, errors) are usually still uncommitted here
+            if (debugHeader && !response.isCommitted()) {
+                response.setHeader(HEADER, statistics.toString());
+            }
+            meters.computeIfAbsent(handlerName(request), this::handlerMeters).record(statistics);
+        }
+    }
+
+    private String handlerName(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        }
+        return NO_HANDLER;
+    }
+
+    private HandlerMeters handlerMeters(String handler) {
+        return new HandlerMeters(
+                DistributionSummary.builder("http.server.requests.sql.statements")
+                        .description("SQL statements per request")
+                        .baseUnit("statements")
+                        .tag("handler", handler)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(1000.0)
+                        .register(meterRegistry),
+                DistributionSummary.builder("http.server.requests.sql.rows")
+                        .description("Rows read or written per request")
+                        .baseUnit("rows")
+                        .tag("handler", handler)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(100_000.0)
+                        .register(meterRegistry),
+                Timer.builder("http.server.requests.sql.time")
+                        .description("Time spent executing SQL per request")
+                        .tag("handler", handler)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry));
+    }
+
+    private record HandlerMeters(DistributionSummary statements, DistributionSummary rows, Timer time) {
+        void record(SqlStatistics statistics) {
+            statements.record(statistics.getStatements());
+            rows.record(statistics.getRows());
+            time.record(statistics.getExecutionNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Sets the header just before the body is first written: by then the controller has returned and its
+    // queries have run, while headers can still be changed
+    private static class StatisticsHeaderResponse extends HttpServletResponseWrapper {
+        private final SqlStatistics statistics;
+
+        StatisticsHeaderResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            setStatisticsHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            setStatisticsHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            setStatisticsHeader();
+            super.flushBuffer();
+        }
+
+        private void setStatisticsHeader() {
+            if (!isCommitted()) {
+                setHeader(HEADER, statistics.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todoapplication.version;
+
+import com.example.todoapplication.event.TaskChangedEvent;
+import com.example.todoapplication.event.UserChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Monotonic per-user and global versions of task data, bumped after every committed task or user write.
+// Versions live only in memory, so the boot id keeps ETags from one run from matching after a restart.
+@Component
+public class TaskVersionTracker {
+    private final String bootId = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final Map<Long, AtomicLong> userVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    public String getBootId() {
+        return bootId;
+    }
+
+    public long userVersion(Long userId) {
+        AtomicLong version = userVersions.get(userId);
+        return version == null ? 0 : version.get();
+    }
+
+    public long globalVersion() {
+        return globalVersion.get();
+    }
+
+    // Entries are never removed: dropping one would restart the user's version and could revive old ETags
+    public void bump(Long userId) {
+        userVersions.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        globalVersion.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        bump(event.getUserId());
+    }
+
+    // Usernames are part of every task response, so profile changes invalidate the user's lists too
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        bump(event.getUserId());
+    }
+}
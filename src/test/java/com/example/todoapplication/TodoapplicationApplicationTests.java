@@ -1,9 +1,12 @@
 package com.example.todoapplication;
 
+import com.example.todoapplication.support.EmbeddedPostgresInitializer;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
 
 @SpringBootTest
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
 class TodoapplicationApplicationTests {
 
     @Test
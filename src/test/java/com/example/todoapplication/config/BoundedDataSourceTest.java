@@ -0,0 +1,43 @@
+package com.example.todoapplication.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoundedDataSourceTest {
+
+    @Test
+    void permitIsHeldUntilTheConnectionIsClosedOnce() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BoundedDataSource bounded = new BoundedDataSource(pool, 1, Duration.ofMillis(50));
+
+        Connection first = bounded.getConnection();
+        assertThatThrownBy(bounded::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close();
+        assertThat(bounded.getAvailablePermits()).isEqualTo(1);
+        bounded.getConnection();
+        assertThat(bounded.getAvailablePermits()).isZero();
+    }
+
+    @Test
+    void failedCheckoutReturnsThePermit() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        BoundedDataSource bounded = new BoundedDataSource(pool, 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(bounded::getConnection).hasMessage("pool exhausted");
+        assertThat(bounded.getAvailablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.todoapplication.controller;
+
+import com.example.todoapplication.model.ERole;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Signup no longer pre-checks usernames and emails: the unique constraints reject duplicates and
+// UserServiceImpl tells them apart by constraint name
+@PostgresIntegrationTest
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        testData.reset();
+        signup("taken", "taken@example.com").andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("User registered successfully!"));
+    }
+
+    @Test
+    void duplicateUsernameIsReported() throws Exception {
+        signup("taken", "other@example.com")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: Username is already taken!"));
+    }
+
+    @Test
+    void duplicateEmailIsReported() throws Exception {
+        signup("other", "taken@example.com")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: Email is already in use!"));
+    }
+
+    @Test
+    void rejectedSignupLeavesNoRowBehind() throws Exception {
+        signup("taken", "other@example.com").andExpect(status().isBadRequest());
+
+        assertThat(testData.jdbc().queryForObject("SELECT COUNT(*) FROM users", Long.class)).isEqualTo(1);
+        signup("other", "other@example.com").andExpect(status().isOk());
+    }
+
+    @Test
+    void profileUpdateToATakenNameIsReported() throws Exception {
+        User admin = testData.user("renamer", ERole.ROLE_ADMIN);
+
+        mockMvc.perform(put("/api/users/{id}", admin.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"taken\"}")
+                        .with(user(testData.principal(admin))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: Username is already taken!"));
+    }
+
+    private ResultActions signup(String username, String email) throws Exception {
+        return mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"secret123\"}"));
+    }
+}
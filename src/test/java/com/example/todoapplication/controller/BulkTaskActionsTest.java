@@ -0,0 +1,118 @@
+package com.example.todoapplication.controller;
+
+import com.example.todoapplication.dto.response.TaskSummaryResponse;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.service.TaskSummaryService;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /api/tasks/bulk/complete and /bulk/delete: ids of other users' tasks (or of no task) are silently
+// skipped, only the tasks that actually changed are returned, and only those move the counters
+@PostgresIntegrationTest
+class BulkTaskActionsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+
+    private final LocalDate dueDate = LocalDate.now().plusDays(2);
+    private User owner;
+    private User other;
+    private Task openDated;
+    private Task openUndated;
+    private Task done;
+    private Task foreign;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        owner = testData.user("bulkowner");
+        other = testData.user("bulkother");
+        openDated = testData.task(owner, "Open dated", false, dueDate);
+        openUndated = testData.task(owner, "Open undated", false, null);
+        done = testData.task(owner, "Done", true, dueDate);
+        foreign = testData.task(other, "Foreign", false, dueDate);
+        // Counters exist before the bulk calls, so the assertions below check deltas, not a fresh backfill
+        assertSummary(owner, 3, 1);
+        assertSummary(other, 1, 0);
+    }
+
+    @Test
+    void completeSkipsForeignAndUnchangedTasks() throws Exception {
+        List<Long> changed = bulk("/api/tasks/bulk/complete", true,
+                openDated.getId(), openUndated.getId(), done.getId(), foreign.getId(), foreign.getId() + 1000);
+
+        assertThat(changed).containsExactlyInAnyOrder(openDated.getId(), openUndated.getId());
+        assertThat(completed(foreign)).isFalse();
+        assertSummary(owner, 3, 3);
+        assertThat(openInBucket(owner)).isZero();
+        assertSummary(other, 1, 0);
+        assertThat(openInBucket(other)).isEqualTo(1);
+    }
+
+    @Test
+    void reopenReturnsOnlyTasksThatWereCompleted() throws Exception {
+        List<Long> changed = bulk("/api/tasks/bulk/complete", false, openDated.getId(), done.getId(), foreign.getId());
+
+        assertThat(changed).containsExactly(done.getId());
+        assertSummary(owner, 3, 0);
+        assertThat(openInBucket(owner)).isEqualTo(2);
+    }
+
+    @Test
+    void deleteSkipsForeignTasks() throws Exception {
+        List<Long> changed = bulk("/api/tasks/bulk/delete", true, openDated.getId(), done.getId(), foreign.getId());
+
+        assertThat(changed).containsExactlyInAnyOrder(openDated.getId(), done.getId());
+        assertThat(testData.jdbc().queryForList("SELECT id FROM tasks", Long.class))
+                .containsExactlyInAnyOrder(openUndated.getId(), foreign.getId());
+        assertSummary(owner, 1, 0);
+        assertThat(openInBucket(owner)).isZero();
+        assertSummary(other, 1, 0);
+    }
+
+    private List<Long> bulk(String path, boolean completed, Long... ids) throws Exception {
+        String body = "{\"ids\":" + List.of(ids) + ",\"completed\":" + completed + "}";
+        String response = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body)
+                        .with(user(testData.principal(owner))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Number> changed = JsonPath.read(response, "$.ids");
+        return changed.stream().map(Number::longValue).toList();
+    }
+
+    private void assertSummary(User user, long total, long completed) {
+        TaskSummaryResponse summary = taskSummaryService.getSummary(user.getId());
+        assertThat(summary.getTotal()).as("total of %s", user.getUsername()).isEqualTo(total);
+        assertThat(summary.getCompleted()).as("completed of %s", user.getUsername()).isEqualTo(completed);
+    }
+
+    private long openInBucket(User user) {
+        return testData.jdbc().queryForObject("SELECT COALESCE(SUM(open_count), 0) FROM task_due_buckets "
+                + "WHERE user_id = ? AND due_date = ?", Long.class, user.getId(), dueDate);
+    }
+
+    private boolean completed(Task task) {
+        return testData.jdbc().queryForObject("SELECT completed FROM tasks WHERE id = ?", Boolean.class, task.getId());
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.todoapplication.controller;
+
+import com.example.todoapplication.exception.NotFoundException;
+import com.example.todoapplication.model.ERole;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.service.TaskService;
+import com.example.todoapplication.service.TaskSummaryService;
+import com.example.todoapplication.service.UserService;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Between the soft delete and the purge a user's tasks are still in the table; every read and write must
+// treat them as gone, and nothing may recreate the user's counters
+@PostgresIntegrationTest
+class DeletedOwnerTasksTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final LocalDate dueDate = LocalDate.now().plusDays(1);
+    private User admin;
+    private User owner;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        admin = testData.user("overseer", ERole.ROLE_ADMIN);
+        owner = testData.user("departed");
+        task = testData.task(owner, "Left behind", false, dueDate);
+        userService.deleteUser(owner.getId());
+    }
+
+    @Test
+    void adminSeesTheTaskAsMissing() throws Exception {
+        asAdmin(get("/api/tasks/{id}", task.getId())).andExpect(status().isNotFound());
+        asAdmin(put("/api/tasks/{id}", task.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Taken over\",\"completed\":true}"))
+                .andExpect(status().isNotFound());
+        asAdmin(delete("/api/tasks/{id}", task.getId())).andExpect(status().isNotFound());
+        asAdmin(get("/api/tasks/user/{userId}/summary", owner.getId())).andExpect(status().isNotFound());
+
+        assertThat(testData.jdbc().queryForObject("SELECT title FROM tasks WHERE id = ?", String.class, task.getId()))
+                .isEqualTo("Left behind");
+    }
+
+    @Test
+    void writesScopedToTheOwnerMatchNothing() {
+        assertThatThrownBy(() -> taskService.toggleTaskCompletion(task.getId(), owner.getId()))
+                .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> taskService.setTaskCompleted(task.getId(), owner.getId(), true))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(taskService.setCompleted(owner.getId(), List.of(task.getId()), true)).isEmpty();
+        assertThat(taskService.deleteTasks(owner.getId(), List.of(task.getId()))).isEmpty();
+
+        assertThat(testData.jdbc().queryForObject("SELECT completed FROM tasks WHERE id = ?", Boolean.class,
+                task.getId())).isFalse();
+        assertThat(testData.jdbc().queryForObject("SELECT COUNT(*) FROM task_summaries WHERE user_id = ?",
+                Long.class, owner.getId())).isZero();
+        assertThat(testData.jdbc().queryForObject("SELECT COUNT(*) FROM task_due_buckets WHERE user_id = ?",
+                Long.class, owner.getId())).isZero();
+    }
+
+    @Test
+    void scansSkipTheTask() {
+        assertThat(taskRepository.findUserIdById(task.getId())).isEmpty();
+        assertThat(taskRepository.findOpenDueBatch(dueDate, dueDate.plusDays(1), dueDate.minusDays(1), 0L,
+                Limit.of(10))).isEmpty();
+    }
+
+    private ResultActions asAdmin(MockHttpServletRequestBuilder request)
+            throws Exception {
+        return mockMvc.perform(request.with(user(testData.principal(admin))));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.todoapplication.controller;
+
+import com.example.todoapplication.model.ERole;
+import com.example.todoapplication.model.Role;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.repository.RoleRepository;
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.security.JwtService;
+import com.example.todoapplication.security.UserDetailsImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// One authenticated request must leave a timing for every step on its path: token parse, principal load and
+// verification, the service method, DTO conversion and the wait for a pooled connection.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:timing;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.tasks.overdue.scan-enabled=false"
+})
+@AutoConfigureMockMvc
+class RequestTimingMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void authenticatedRequestIsTimedAtEveryStep() throws Exception {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        Role adminRole = roleRepository.save(new Role(ERole.ROLE_ADMIN));
+        User admin = new User("timed", "timed@example.com", "secret");
+        admin.setRoles(Set.of(adminRole));
+        admin = userRepository.save(admin);
+        String token = jwtService.generateToken(
+                UserDetailsImpl.build(userRepository.findWithRolesById(admin.getId()).orElseThrow()));
+
+        mockMvc.perform(get("/api/users/{id}", admin.getId()).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("jwt.generate").timer().count()).isPositive();
+        for (String phase : new String[]{"parse", "principal", "verify"}) {
+            assertThat(meterRegistry.get("auth.filter").tag("phase", phase).timer().count()).isPositive();
+        }
+        assertThat(meterRegistry.get("service.method")
+                .tag("class", "com.example.todoapplication.service.impl.UserServiceImpl")
+                .tag("method", "findById")
+                .timer().count()).isPositive();
+        assertThat(meterRegistry.get("dto.conversion").tag("dto", "UserResponse").timer().count()).isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").timer().count()).isPositive();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.todoapplication.controller;
+
+import com.example.todoapplication.model.ERole;
+import com.example.todoapplication.model.Role;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.repository.RoleRepository;
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.security.UserDetailsImpl;
+import com.example.todoapplication.sql.SqlStatisticsFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.todoapplication.sql.SqlBudget.statementsAtMost;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement budgets of the read endpoints, measured through the full filter chain. The data is sized so
+// that a lazy load per row (N+1) breaks the budget.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.tasks.overdue.scan-enabled=false",
+        "app.sql-stats.enabled=true",
+        "app.sql-stats.debug-header=true"
+})
+@AutoConfigureMockMvc
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+        Role userRole = roleRepository.save(new Role(ERole.ROLE_USER));
+        Role adminRole = roleRepository.save(new Role(ERole.ROLE_ADMIN));
+        for (int u = 0; u < 4; u++) {
+            User user = new User("budget" + u, "budget" + u + "@example.com", "secret");
+            user.setRoles(u == 0 ? Set.of(userRole, adminRole) : Set.of(userRole));
+            users.add(userRepository.save(user));
+            for (int t = 0; t < 3; t++) {
+                Task task = new Task("Task " + t, "Owned by " + u, false);
+                task.setUser(user);
+                tasks.add(taskRepository.save(task));
+            }
+        }
+    }
+
+    @Test
+    void userListingLoadsRolesWithTheUsers() throws Exception {
+        mockMvc.perform(get("/api/users").with(user(principal(users.get(0)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].roles.length()").value(2))
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void singleUserLoadsRolesWithTheUser() throws Exception {
+        mockMvc.perform(get("/api/users/{id}", users.get(1).getId()).with(user(principal(users.get(0)))))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void adminTaskListingIsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/tasks").with(user(principal(users.get(0)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(12))
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void taskPageIsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("limit", "5").with(user(principal(users.get(0)))))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void ownTaskListingIsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/tasks/user/{userId}", users.get(2).getId()).with(user(principal(users.get(2)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(statementsAtMost(1));
+    }
+
+    @Test
+    void taskByIdLoadsOwnerWithTheTask() throws Exception {
+        Task task = tasks.get(4);
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).with(user(principal(users.get(1)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("budget1"))
+                .andExpect(header().string(SqlStatisticsFilter.HEADER, startsWith("statements=1;")))
+                .andExpect(statementsAtMost(1));
+    }
+
+    private UserDetailsImpl principal(User user) {
+        return UserDetailsImpl.build(userRepository.findWithRolesById(user.getId()).orElseThrow());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todoapplication.controller;
+
+import com.example.todoapplication.dto.response.TaskSummaryResponse;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.service.TaskService;
+import com.example.todoapplication.service.TaskSummaryService;
+import com.example.todoapplication.sql.SqlStatistics;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static com.example.todoapplication.sql.SqlBudget.assertStatementsAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// PATCH /api/tasks/{id}/toggle and /complete write the task and its counters in one statement. Ownership is
+// part of that statement, so a miss is only told apart (404 vs 403) afterwards.
+@PostgresIntegrationTest
+class TaskCompletionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+
+    private final LocalDate dueDate = LocalDate.now().plusDays(2);
+    private User owner;
+    private User other;
+    private Task open;
+    private Task done;
+    private Task foreign;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        owner = testData.user("completer");
+        other = testData.user("bystander");
+        open = testData.task(owner, "Open", false, dueDate);
+        done = testData.task(owner, "Done", true, dueDate);
+        foreign = testData.task(other, "Foreign", false, dueDate);
+        assertCounters(1, 1);
+    }
+
+    @Test
+    void toggleFlipsTheTaskAndItsCounters() throws Exception {
+        perform(patch("/api/tasks/{id}/toggle", open.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.version").value(open.getVersion() + 1));
+        assertCounters(2, 0);
+
+        perform(patch("/api/tasks/{id}/toggle", open.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(false));
+        assertCounters(1, 1);
+    }
+
+    @Test
+    void completeMovesTheCounters() throws Exception {
+        perform(patch("/api/tasks/{id}/complete?completed=false", done.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(false));
+        assertCounters(0, 2);
+    }
+
+    @Test
+    void completeInTheCurrentStateReturnsTheTaskUnchanged() throws Exception {
+        perform(patch("/api/tasks/{id}/complete?completed=true", done.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.version").value(done.getVersion()));
+        assertCounters(1, 1);
+    }
+
+    @Test
+    void missingTaskIsNotFoundAndForeignTaskIsForbidden() throws Exception {
+        long missing = foreign.getId() + 1000;
+        perform(patch("/api/tasks/{id}/toggle", missing)).andExpect(status().isNotFound());
+        perform(patch("/api/tasks/{id}/complete?completed=true", missing)).andExpect(status().isNotFound());
+        perform(patch("/api/tasks/{id}/toggle", foreign.getId())).andExpect(status().isForbidden());
+        perform(patch("/api/tasks/{id}/complete?completed=true", foreign.getId())).andExpect(status().isForbidden());
+
+        assertThat(testData.jdbc().queryForObject("SELECT completed FROM tasks WHERE id = ?",
+                Boolean.class, foreign.getId())).isFalse();
+        assertCounters(1, 1);
+        assertThat(taskSummaryService.getSummary(other.getId()).getCompleted()).isZero();
+    }
+
+    @Test
+    void toggleIsOneStatement() throws Exception {
+        // Once the counters are known to exist, the toggle is the only statement left
+        taskService.toggleTaskCompletion(open.getId(), owner.getId());
+
+        SqlStatistics statistics = assertStatementsAtMost(1,
+                () -> taskService.toggleTaskCompletion(open.getId(), owner.getId()));
+        assertThat(statistics.getStatements()).isEqualTo(1);
+        assertCounters(1, 1);
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request.with(user(testData.principal(owner))));
+    }
+
+    private void assertCounters(long completed, long openOnDueDate) {
+        TaskSummaryResponse summary = taskSummaryService.getSummary(owner.getId());
+        assertThat(summary.getTotal()).isEqualTo(2);
+        assertThat(summary.getCompleted()).isEqualTo(completed);
+        assertThat(testData.jdbc().queryForObject("SELECT COALESCE(SUM(open_count), 0) FROM task_due_buckets "
+                + "WHERE user_id = ? AND due_date = ?", Long.class, owner.getId(), dueDate)).isEqualTo(openOnDueDate);
+    }
+}
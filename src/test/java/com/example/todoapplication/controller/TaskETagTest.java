@@ -0,0 +1,152 @@
+package com.example.todoapplication.controller;
+
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.security.UserDetailsImpl;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import com.example.todoapplication.version.TaskVersionTracker;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static com.example.todoapplication.sql.SqlBudget.statementsAtMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Conditional GETs on task listings: a matching If-None-Match is answered with 304 before any query runs,
+// every committed write moves the ETag on, and error responses carry no ETag at all.
+@PostgresIntegrationTest
+class TaskETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskVersionTracker taskVersionTracker;
+
+    private User owner;
+    private UserDetailsImpl principal;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        owner = testData.user("etagowner");
+        principal = testData.principal(owner);
+        task = testData.task(owner, "Cached", false, null);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnswered304WithoutQuerying() throws Exception {
+        String etag = listETag();
+
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, etag).with(user(principal)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().string(""))
+                .andExpect(statementsAtMost(0));
+    }
+
+    @Test
+    void otherQueryStringsHaveTheirOwnETag() throws Exception {
+        String etag = listETag();
+
+        mockMvc.perform(get("/api/tasks?limit=5").header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .with(user(principal)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void everyWriteMovesTheETagOn() throws Exception {
+        String etag = listETag();
+
+        Object created = JsonPath.read(write(post("/api/tasks").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"New\"}")).andReturn().getResponse().getContentAsString(), "$.id");
+        etag = assertStale(etag);
+
+        write(put("/api/tasks/{id}", created).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Renamed\"}"));
+        etag = assertStale(etag);
+
+        write(patch("/api/tasks/{id}/toggle", created));
+        etag = assertStale(etag);
+
+        write(delete("/api/tasks/{id}", created));
+        assertStale(etag);
+    }
+
+    @Test
+    void errorResponsesCarryNoETag() throws Exception {
+        User other = testData.user("etagother");
+        Task foreign = testData.task(other, "Not yours", false, null);
+
+        mockMvc.perform(get("/api/tasks/{id}", foreign.getId()).with(user(principal)))
+                .andExpect(status().is4xxClientError())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/tasks/{id}", task.getId() + 1000).with(user(principal)))
+                .andExpect(status().is4xxClientError())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void wildcardIfNoneMatchDoesNotSkipTheLookup() throws Exception {
+        User other = testData.user("etagother");
+        Task foreign = testData.task(other, "Not yours", false, null);
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId() + 1000).header(HttpHeaders.IF_NONE_MATCH, "*")
+                        .with(user(principal)))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/tasks/{id}", foreign.getId()).header(HttpHeaders.IF_NONE_MATCH, "*")
+                        .with(user(principal)))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, "*")
+                        .with(user(principal)))
+                .andExpect(status().isOk());
+    }
+
+    // Each committed write bumps the owner's version exactly once
+    private ResultActions write(MockHttpServletRequestBuilder request) throws Exception {
+        long before = taskVersionTracker.userVersion(owner.getId());
+        ResultActions result = mockMvc.perform(request.with(user(principal))).andExpect(status().is2xxSuccessful());
+        assertThat(taskVersionTracker.userVersion(owner.getId())).isEqualTo(before + 1);
+        return result;
+    }
+
+    private String assertStale(String previous) throws Exception {
+        mockMvc.perform(get("/api/tasks").header(HttpHeaders.IF_NONE_MATCH, previous).with(user(principal)))
+                .andExpect(status().isOk());
+        String current = listETag();
+        assertThat(current).isNotEqualTo(previous);
+        return current;
+    }
+
+    private String listETag() throws Exception {
+        return mockMvc.perform(get("/api/tasks").with(user(principal)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.todoapplication.controller;
+
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.security.UserDetailsImpl;
+import com.example.todoapplication.service.TaskSummaryService;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /api/tasks/bulk with a flush every 2 tasks and at most 4 tasks per request
+@PostgresIntegrationTest
+@TestPropertySource(properties = {
+        "app.tasks.bulk.batch-size=2",
+        "app.tasks.bulk.max-items=4"
+})
+class TaskImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+
+    private User owner;
+    private UserDetailsImpl principal;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        owner = testData.user("importer");
+        principal = testData.principal(owner);
+    }
+
+    @Test
+    void jsonArrayIsImported() throws Exception {
+        importTasks(MediaType.APPLICATION_JSON, "[{\"title\":\"One\"},{\"title\":\"Two\",\"completed\":true},"
+                + "{\"title\":\"Three\",\"dueDate\":\"" + LocalDate.now().plusDays(1) + "\"}]")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.rejected").value(0))
+                .andExpect(jsonPath("$.results[0].index").value(0))
+                .andExpect(jsonPath("$.results[2].index").value(2))
+                .andExpect(jsonPath("$.results[2].id", notNullValue()));
+
+        assertThat(taskTitles()).containsExactlyInAnyOrder("One", "Two", "Three");
+        assertThat(taskSummaryService.getSummary(owner.getId()).getTotal()).isEqualTo(3);
+        assertThat(taskSummaryService.getSummary(owner.getId()).getCompleted()).isEqualTo(1);
+    }
+
+    @Test
+    void ndjsonStreamIsImported() throws Exception {
+        importTasks(MediaType.APPLICATION_NDJSON, "{\"title\":\"One\"}\n{\"title\":\"Two\"}\n")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.results[1].index").value(1));
+
+        assertThat(taskTitles()).containsExactlyInAnyOrder("One", "Two");
+    }
+
+    @Test
+    void invalidItemsAreRejectedWithTheirIndex() throws Exception {
+        importTasks(MediaType.APPLICATION_JSON, "[{\"title\":\"Fine\"},{\"title\":\"\"},"
+                + "{\"title\":\"Late\",\"dueDate\":\"2000-01-01\"},{\"title\":\"Also fine\"}]")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results[0].error", nullValue()))
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].id", nullValue()))
+                .andExpect(jsonPath("$.results[1].error", containsString("title")))
+                .andExpect(jsonPath("$.results[2].error").value("dueDate: Due date cannot be in the past"))
+                .andExpect(jsonPath("$.results[3].id", notNullValue()));
+
+        assertThat(taskTitles()).containsExactlyInAnyOrder("Fine", "Also fine");
+    }
+
+    @Test
+    void requestOverTheLimitImportsNothing() throws Exception {
+        importTasks(MediaType.APPLICATION_NDJSON, "{\"title\":\"1\"}\n{\"title\":\"2\"}\n{\"title\":\"3\"}\n"
+                + "{\"title\":\"4\"}\n{\"title\":\"5\"}\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Error: A bulk import is limited to 4 tasks"));
+
+        assertThat(taskTitles()).isEmpty();
+    }
+
+    @Test
+    void malformedInputImportsNothing() throws Exception {
+        importTasks(MediaType.APPLICATION_JSON, "[{\"title\":\"One\"},{\"title\":")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Error: Invalid task list")));
+
+        assertThat(taskTitles()).isEmpty();
+    }
+
+    private ResultActions importTasks(MediaType contentType, String body) throws Exception {
+        return mockMvc.perform(post("/api/tasks/bulk").contentType(contentType).content(body).with(user(principal)));
+    }
+
+    private List<String> taskTitles() {
+        return testData.jdbc().queryForList("SELECT title FROM tasks WHERE user_id = ?", String.class, owner.getId());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.todoapplication.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Closed-loop load against a running instance: concurrency clients, each on its own virtual thread,
+ * request GET /api/tasks?limit=20 back to back for a fixed time as randomly chosen users.
+ * scripts/thread-benchmark.sh runs it against the platform-thread and virtual-thread profiles.
+ *
+ * Arguments: baseUrl concurrency seconds [label] [users] [tasksPerUser]
+ */
+public class TaskListLoadBenchmark {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        String label = args.length > 3 ? args[3] : baseUrl;
+        int users = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+        int tasksPerUser = args.length > 5 ? Integer.parseInt(args[5]) : 20;
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<String> tokens = createUsers(client, baseUrl, users, tasksPerUser);
+
+        // Warm up the JIT and the pool before measuring
+        run(client, baseUrl, tokens, concurrency, System.nanoTime() + Duration.ofSeconds(5).toNanos());
+        Result result = run(client, baseUrl, tokens, concurrency, System.nanoTime() + Duration.ofSeconds(seconds).toNanos());
+        result.print(label, concurrency, seconds);
+    }
+
+    private static List<String> createUsers(HttpClient client, String baseUrl, int users, int tasksPerUser) throws Exception {
+        String prefix = "b" + UUID.randomUUID().toString().substring(0, 8);
+        List<String> tokens = new ArrayList<>();
+        for (int u = 0; u < users; u++) {
+            String username = prefix + u;
+            post(client, baseUrl + "/api/auth/signup", null, Map.of(
+                    "username", username, "email", username + "@example.com", "password", "benchmark"));
+            JsonNode login = post(client, baseUrl + "/api/auth/signin", null, Map.of(
+                    "username", username, "password", "benchmark"));
+            String token = login.get("token").asText();
+            for (int t = 0; t < tasksPerUser; t++) {
+                post(client, baseUrl + "/api/tasks", token, Map.of("title", "Task " + t, "description", "Benchmark"));
+            }
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static JsonNode post(HttpClient client, String url, String token, Map<String, String> body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static Result run(HttpClient client, String baseUrl, List<String> tokens, int concurrency, long deadline)
+            throws InterruptedException {
+        URI uri = URI.create(baseUrl + "/api/tasks?limit=20");
+        List<long[]> latencies = new ArrayList<>();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                long[] samples = new long[1 << 12];
+                latencies.add(samples);
+                clients.execute(() -> {
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        String token = tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Authorization", "Bearer " + token)
+                                .GET()
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        completed.incrementAndGet();
+                        // Latencies are sampled up to the array size; the last slot holds the sample count
+                        if (count < samples.length - 1) {
+                            samples[count++] = System.nanoTime() - sent;
+                        }
+                    }
+                    samples[samples.length - 1] = count;
+                });
+            }
+        }
+        return new Result(latencies, completed.get(), errors.get(), System.nanoTime() - start);
+    }
+
+    // Throughput counts every successful request; percentiles come from the stored samples
+    private record Result(List<long[]> latencies, long completed, long errors, long elapsedNanos) {
+        void print(String label, int concurrency, int seconds) {
+            long[] all = latencies.stream()
+                    .flatMapToLong(samples -> Arrays.stream(samples, 0, (int) samples[samples.length - 1]))
+                    .sorted()
+                    .toArray();
+            double throughput = completed / (elapsedNanos / 1e9);
+            System.out.printf("%-28s concurrency=%d duration=%ds ok=%d errors=%d throughput=%.0f req/s "
+                            + "p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms%n",
+                    label, concurrency, seconds, completed, errors, throughput,
+                    percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), percentile(all, 1.0));
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.todoapplication.controller;
+
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// PATCH /api/tasks/{id} with application/merge-patch+json: absent members are kept, null removes a value,
+// and "version" is a precondition rather than a field
+@PostgresIntegrationTest
+class TaskMergePatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    private User owner;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        owner = testData.user("patcher");
+        task = testData.task(owner, "Patched", false, LocalDate.now().plusDays(1));
+    }
+
+    @Test
+    void nullClearsOnlyTheNamedFields() throws Exception {
+        patchTask("{\"description\":null,\"dueDate\":null}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Patched"))
+                .andExpect(jsonPath("$.description").value(nullValue()))
+                .andExpect(jsonPath("$.dueDate").value(nullValue()))
+                .andExpect(jsonPath("$.version").value(task.getVersion() + 1));
+
+        Map<String, Object> row = row();
+        assertThat(row.get("title")).isEqualTo("Patched");
+        assertThat(row.get("description")).isNull();
+        assertThat(row.get("due_date")).isNull();
+    }
+
+    @Test
+    void unknownFieldIsRejected() throws Exception {
+        patchTask("{\"title\":\"Renamed\",\"priority\":1}")
+                .andExpect(status().isBadRequest());
+
+        assertThat(row().get("title")).isEqualTo("Patched");
+    }
+
+    @Test
+    void staleVersionIsAConflict() throws Exception {
+        patchTask("{\"version\":" + (task.getVersion() + 1) + ",\"title\":\"Renamed\"}")
+                .andExpect(status().isConflict());
+        assertThat(row().get("title")).isEqualTo("Patched");
+
+        patchTask("{\"version\":" + task.getVersion() + ",\"title\":\"Renamed\"}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed"));
+    }
+
+    @Test
+    void patchWithoutChangesWritesNothing() throws Exception {
+        patchTask("{\"title\":\"Patched\",\"completed\":false}")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(task.getVersion()));
+
+        assertThat(((Number) row().get("version")).longValue()).isEqualTo(task.getVersion());
+    }
+
+    private ResultActions patchTask(String mergePatch) throws Exception {
+        return mockMvc.perform(patch("/api/tasks/{id}", task.getId())
+                .contentType("application/merge-patch+json")
+                .content(mergePatch)
+                .with(user(testData.principal(owner))));
+    }
+
+    private Map<String, Object> row() {
+        return testData.jdbc().queryForMap("SELECT title, description, due_date, version FROM tasks WHERE id = ?",
+                task.getId());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.todoapplication.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void entriesFireInTheTickOfTheirExpirationAcrossLevels() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, 0);
+        Random random = new Random(42);
+        List<Long> expirations = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Up to eight levels deep with 10 ms ticks and 8 buckets per level
+            long expiration = 10 + (long) (random.nextDouble() * 10 * Math.pow(8, 1 + random.nextInt(8)));
+            expirations.add(expiration);
+            assertThat(wheel.schedule(expiration, expiration)).isNotNull();
+        }
+        assertThat(wheel.size()).isEqualTo(expirations.size());
+
+        List<Long> fired = new ArrayList<>();
+        long now = 0;
+        while (wheel.size() > 0) {
+            now += 10;
+            long tickStart = now;
+            wheel.advanceTo(now, entry -> {
+                assertThat(entry.getExpirationMs()).isBetween(tickStart, tickStart + 9);
+                fired.add(entry.getValue());
+            });
+        }
+
+        assertThat(fired).containsExactlyInAnyOrderElementsOf(expirations);
+    }
+
+    @Test
+    void cancelledEntriesNeverFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        TimingWheel.Entry<String> kept = wheel.schedule("kept", 5_000);
+        TimingWheel.Entry<String> cancelled = wheel.schedule("cancelled", 5_000);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+
+        List<String> fired = new ArrayList<>();
+        wheel.advanceTo(10_000, entry -> fired.add(entry.getValue()));
+
+        assertThat(kept).isNotNull();
+        assertThat(fired).containsExactly("kept");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void expirationWithinTheCurrentTickIsNotScheduled() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1_005);
+
+        assertThat(wheel.schedule("now", 1_009)).isNull();
+        assertThat(wheel.schedule("next tick", 1_010)).isNotNull();
+    }
+}
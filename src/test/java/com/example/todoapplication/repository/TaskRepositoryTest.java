@@ -0,0 +1,159 @@
+package com.example.todoapplication.repository;
+
+import com.example.todoapplication.dto.request.TaskFilterRequest;
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50"
+})
+class TaskRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long firstUserId;
+
+    @BeforeEach
+    void setUp() {
+        for (int u = 0; u < 3; u++) {
+            User user = entityManager.persist(new User("owner" + u, "owner" + u + "@example.com", "secret"));
+            if (firstUserId == null) {
+                firstUserId = user.getId();
+            }
+            for (int t = 0; t < 4; t++) {
+                Task task = new Task("Task " + t, "Owned by " + u, t % 2 == 0);
+                task.setUser(user);
+                entityManager.persist(task);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void allTasksListingUsesOneStatementRegardlessOfOwners() {
+        List<TaskResponse> tasks = taskRepository.findAllResponses();
+
+        assertThat(tasks).hasSize(12);
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getUsername()).startsWith("owner"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userListingUsesOneStatement() {
+        List<TaskResponse> tasks = taskRepository.findResponsesByUserId(firstUserId);
+
+        assertThat(tasks).hasSize(4);
+        assertThat(tasks).allSatisfy(task -> assertThat(task.getUsername()).isEqualTo("owner0"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void overdueTasksAreOpenPastDueAndOwnedByTheUser() {
+        LocalDate today = LocalDate.now();
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Task t SET t.dueDate = :dueDate")
+                .setParameter("dueDate", today.minusDays(1))
+                .executeUpdate();
+        statistics.clear();
+
+        List<TaskResponse> overdue = taskRepository.findOverdueTasks(firstUserId, today);
+
+        // Tasks 1 and 3 of each owner are open
+        assertThat(overdue).hasSize(2);
+        assertThat(overdue).allSatisfy(task -> {
+            assertThat(task.getUserId()).isEqualTo(firstUserId);
+            assertThat(task.isCompleted()).isFalse();
+        });
+        assertThat(taskRepository.findOverdueTasks(firstUserId, today.minusDays(1))).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void taskInsertsAreBatched() {
+        User owner = entityManager.find(User.class, firstUserId);
+        for (int t = 0; t < 100; t++) {
+            Task task = new Task("Imported " + t, null, false);
+            task.setUser(owner);
+            entityManager.persist(task);
+        }
+        entityManager.flush();
+
+        // Two insert batches plus at most three sequence round trips (50 ids each), not one statement per task
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void staleCopyCannotOverwriteConcurrentEdit() {
+        Task stale = taskRepository.findByUserId(firstUserId).get(0);
+        entityManager.detach(stale);
+
+        Task current = taskRepository.findById(stale.getId()).orElseThrow();
+        current.setTitle("Edited elsewhere");
+        entityManager.flush();
+        entityManager.clear();
+
+        stale.setDescription("Lost update");
+        assertThatThrownBy(() -> taskRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(current.getVersion()).isEqualTo(stale.getVersion() + 1);
+    }
+
+    @Test
+    void keysetPageUsesOneStatementAndResumesAfterCursor() {
+        List<TaskResponse> firstPage = taskRepository.findPage(new TaskPageQuery(null, null, TaskSortKey.ID, true, null, null, 5));
+        TaskResponse last = firstPage.get(firstPage.size() - 1);
+        List<TaskResponse> secondPage = taskRepository.findPage(
+                new TaskPageQuery(null, null, TaskSortKey.ID, true, null, last.getId(), 100));
+
+        assertThat(firstPage).hasSize(5);
+        assertThat(secondPage).hasSize(7);
+        assertThat(secondPage.get(0).getId()).isGreaterThan(last.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void filteredDescendingPagesWalkThroughNullDueDates() {
+        TaskFilterRequest filter = new TaskFilterRequest();
+        filter.setCompleted(true);
+
+        List<TaskResponse> firstPage = taskRepository.findPage(
+                new TaskPageQuery(null, filter, TaskSortKey.DUE_DATE, false, null, null, 4));
+        TaskResponse last = firstPage.get(firstPage.size() - 1);
+        List<TaskResponse> secondPage = taskRepository.findPage(
+                new TaskPageQuery(null, filter, TaskSortKey.DUE_DATE, false, null, last.getId(), 4));
+
+        assertThat(firstPage).hasSize(4).allSatisfy(task -> assertThat(task.isCompleted()).isTrue());
+        assertThat(secondPage).hasSize(2).allSatisfy(task -> assertThat(task.getId()).isLessThan(last.getId()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.todoapplication.repository;
+
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private Long deletedUserId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(new User("leaving", "leaving@example.com", "secret"));
+        for (int t = 0; t < 5; t++) {
+            Task task = new Task("Task " + t, null, false);
+            task.setUser(user);
+            entityManager.persist(task);
+        }
+        user.setDeletedAt(LocalDateTime.now());
+        deletedUserId = user.getId();
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void deletedUsersAreHiddenFromEntityQueries() {
+        assertThat(userRepository.findById(deletedUserId)).isEmpty();
+        assertThat(userRepository.findWithRolesByUsername("leaving")).isEmpty();
+        assertThat(userRepository.findTokenEpochById(deletedUserId)).isEmpty();
+        assertThat(taskRepository.findResponsesByUserId(deletedUserId)).isEmpty();
+        assertThat(userRepository.findDeletedUserIds(10)).containsExactly(deletedUserId);
+    }
+
+    @Test
+    void tasksArePurgedInChunksBeforeTheUserRow() {
+        assertThat(taskRepository.deleteBatchByUserId(deletedUserId, 2)).isEqualTo(2);
+        assertThat(taskRepository.deleteBatchByUserId(deletedUserId, 2)).isEqualTo(2);
+        assertThat(taskRepository.deleteBatchByUserId(deletedUserId, 2)).isEqualTo(1);
+        assertThat(taskRepository.deleteBatchByUserId(deletedUserId, 2)).isZero();
+
+        userRepository.deleteRolesByUserId(deletedUserId);
+        assertThat(userRepository.deleteDeletedUserById(deletedUserId)).isEqualTo(1);
+        assertThat(userRepository.findDeletedUserIds(10)).isEmpty();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.todoapplication.search;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.event.TaskChangedEvent;
+import com.example.todoapplication.event.UserChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskSearchIndexTest {
+    private static final Long ALICE = 1L;
+    private static final Long BOB = 2L;
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @Test
+    void tokenizesOnAnythingButLettersAndDigits() {
+        assertThat(TaskSearchIndex.tokenize("Buy MILK, eggs & 2 loaves!")).containsExactly("buy", "milk", "eggs", "2", "loaves");
+        assertThat(TaskSearchIndex.tokenize("Café–Übung")).containsExactly("café", "übung");
+        assertThat(TaskSearchIndex.tokenize("  ")).isEmpty();
+        assertThat(TaskSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void queryTermsMatchAsPrefixesAndMustAllMatch() {
+        index.index(ALICE, 10L, "Groceries for the weekend", null);
+        index.index(ALICE, 11L, "Weekly report", null);
+
+        assertThat(index.search(ALICE, "groc", 10)).containsExactly(10L);
+        assertThat(index.search(ALICE, "WEEK", 10)).containsExactlyInAnyOrder(10L, 11L);
+        assertThat(index.search(ALICE, "week groc", 10)).containsExactly(10L);
+        assertThat(index.search(ALICE, "roceries", 10)).isEmpty();
+        assertThat(index.search(ALICE, "week taxes", 10)).isEmpty();
+    }
+
+    @Test
+    void titleHitsRankAboveDescriptionHitsAndExactAbovePrefix() {
+        index.index(ALICE, 10L, "Call the bank", "about the report");
+        index.index(ALICE, 11L, "Reporting dashboard", null);
+        index.index(ALICE, 12L, "Report", null);
+
+        // exact title 3*2, prefix title 3*1, exact description 1*2
+        assertThat(index.search(ALICE, "report", 10)).containsExactly(12L, 11L, 10L);
+        assertThat(index.search(ALICE, "report", 2)).containsExactly(12L, 11L);
+    }
+
+    @Test
+    void editsReplaceTheIndexedTerms() {
+        index.onTaskChanged(TaskChangedEvent.saved(task(ALICE, 10L, "Paint the fence", null)));
+        index.onTaskChanged(TaskChangedEvent.saved(task(ALICE, 10L, "Mow the lawn", null)));
+
+        assertThat(index.search(ALICE, "fence", 10)).isEmpty();
+        assertThat(index.search(ALICE, "lawn", 10)).containsExactly(10L);
+    }
+
+    @Test
+    void deletedTasksAreNoLongerFound() {
+        index.onTaskChanged(TaskChangedEvent.saved(task(ALICE, 10L, "Paint the fence", null)));
+        index.onTaskChanged(TaskChangedEvent.saved(task(ALICE, 11L, "Fence posts", null)));
+
+        index.onTaskChanged(TaskChangedEvent.deleted(ALICE, 10L));
+
+        assertThat(index.search(ALICE, "fence", 10)).containsExactly(11L);
+        assertThat(index.search(ALICE, "paint", 10)).isEmpty();
+    }
+
+    @Test
+    void usersOnlySeeTheirOwnTasks() {
+        index.index(ALICE, 10L, "Dentist appointment", null);
+        index.index(BOB, 20L, "Dentist invoice", null);
+
+        assertThat(index.search(ALICE, "dentist", 10)).containsExactly(10L);
+        assertThat(index.search(BOB, "dentist", 10)).containsExactly(20L);
+
+        index.onUserChanged(new UserChangedEvent(ALICE, true));
+
+        assertThat(index.search(ALICE, "dentist", 10)).isEmpty();
+        assertThat(index.search(BOB, "dentist", 10)).containsExactly(20L);
+    }
+
+    @Test
+    void startupMergeKeepsLiveWrites() {
+        index.index(ALICE, 10L, "Renamed after load started", null);
+
+        index.merge(ALICE, List.of(new TaskDocument(10L, ALICE, "Stale title", null),
+                new TaskDocument(11L, ALICE, "Stale neighbour", null)));
+
+        assertThat(index.search(ALICE, "renamed", 10)).containsExactly(10L);
+        assertThat(index.search(ALICE, "stale", 10)).containsExactly(11L);
+    }
+
+    private static TaskResponse task(Long userId, Long id, String title, String description) {
+        return new TaskResponse(id, title, description, false, null, null, null, userId, "user" + userId, 0L);
+    }
+}
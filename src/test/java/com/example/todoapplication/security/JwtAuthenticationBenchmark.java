@@ -0,0 +1,139 @@
+package com.example.todoapplication.security;
+
+import com.example.todoapplication.model.ERole;
+import com.example.todoapplication.model.Role;
+import com.example.todoapplication.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of authenticating a bearer token with the old filter logic
+ * (four parses, a parser and key rebuilt on every parse, two principal lookups) against the
+ * current single-pass {@link AuthTokenFilter}.
+ *
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/bench.classpath
+ *   java -cp target/test-classes:target/classes:$(cat target/bench.classpath) \
+ *        com.example.todoapplication.security.JwtAuthenticationBenchmark
+ * The GC profiler reports gc.alloc.rate.norm, the bytes allocated per authenticated request.
+ * Any JMH command line option (e.g. -wi 1 -i 3) overrides the defaults below.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private InMemoryUserDetailsService userDetailsService;
+    private AuthTokenFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private String jwt;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        User user = new User("benchmark", "benchmark@example.com", "{noop}password");
+        user.setId(1L);
+        user.setRoles(Set.of(new Role(ERole.ROLE_USER)));
+
+        jwtService = new JwtService();
+        userDetailsService = new InMemoryUserDetailsService(user);
+        filter = new AuthTokenFilter(jwtService, userDetailsService, new TokenEpochRegistry(null, 1, Duration.ofMinutes(5)),
+                new SimpleMeterRegistry());
+        jwt = jwtService.generateToken(UserDetailsImpl.build(user));
+
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void singlePassFilter(Blackhole blackhole) throws Exception {
+        filter.doFilter(request, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void legacyFilter(Blackhole blackhole) {
+        if (legacyIsTokenValid(jwt, userDetailsService.loadUserByUsername(legacyExtractAllClaims(jwt).getSubject()))) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(legacyExtractAllClaims(jwt).getSubject());
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    // Mirrors the previous JwtService: every call decodes the key and builds a new parser
+    private static boolean legacyIsTokenValid(String token, UserDetails userDetails) {
+        String username = legacyExtractAllClaims(token).getSubject();
+        return username.equals(userDetails.getUsername())
+                && !legacyExtractAllClaims(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyExtractAllClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    // Rebuilds the principal on every lookup like the JPA-backed service does, minus the database
+    static class InMemoryUserDetailsService extends UserDetailsServiceImpl {
+        private final User user;
+
+        InMemoryUserDetailsService(User user) {
+            super(null, null);
+            this.user = user;
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            return UserDetailsImpl.build(user);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.todoapplication.security;
+
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// With its one worker busy and its one queue slot taken, the hashing pool turns the next signup away with
+// 503 and Retry-After right away instead of queueing it.
+@PostgresIntegrationTest
+@TestPropertySource(properties = {
+        "app.security.password-hashing.threads=1",
+        "app.security.password-hashing.queue-capacity=1",
+        "app.security.password-hashing.retry-after-seconds=7"
+})
+class PasswordHashingSaturationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+    }
+
+    @Test
+    void signupIsRejectedWhileThePoolIsSaturated() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> passwordHashingExecutor.execute("test", () -> {
+                running.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> passwordHashingExecutor.execute("test", () -> null));
+            awaitQueueSize(1);
+            double rejectedBefore = meterRegistry.get("password.hash.rejections").counter().count();
+
+            signup("busyuser")
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"));
+            assertThat(meterRegistry.get("password.hash.rejections").counter().count()).isEqualTo(rejectedBefore + 1);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            assertThat(callers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        signup("busyuser").andExpect(status().isOk());
+    }
+
+    private ResultActions signup(String username) throws Exception {
+        return mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"email\":\"" + username + "@example.com\","
+                        + "\"password\":\"secret123\"}"));
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hash.queue.size").gauge().value() < size) {
+            assertThat(System.nanoTime()).as("queue never reached %d", size).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
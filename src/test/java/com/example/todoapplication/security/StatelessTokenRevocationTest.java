@@ -0,0 +1,90 @@
+package com.example.todoapplication.security;
+
+import com.example.todoapplication.model.ERole;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Stateless tokens are only checked against the user's token epoch, so a role change or a deletion has to
+// bump it for AuthTokenFilter to turn away the tokens issued before.
+@PostgresIntegrationTest
+@TestPropertySource(properties = {
+        "jwt.stateless-principal.enabled=true",
+        "app.security.token-epoch.ttl=PT1S"
+})
+class StatelessTokenRevocationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private User admin;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        admin = testData.user("epochadmin", ERole.ROLE_ADMIN);
+        user = testData.user("epochuser");
+    }
+
+    @Test
+    void roleChangeRejectsTokensIssuedBefore() throws Exception {
+        String issuedBefore = token(user);
+        summary(issuedBefore).andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/users/{id}/role", user.getId()).param("newRole", "admin")
+                        .header("Authorization", "Bearer " + token(admin)))
+                .andExpect(status().isOk());
+
+        summary(issuedBefore).andExpect(status().isUnauthorized());
+        summary(token(user)).andExpect(status().isOk());
+    }
+
+    @Test
+    void deletionRejectsTokensIssuedBefore() throws Exception {
+        String issuedBefore = token(user);
+        summary(issuedBefore).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/users/{id}", user.getId()).header("Authorization", "Bearer " + token(admin)))
+                .andExpect(status().isAccepted());
+
+        summary(issuedBefore).andExpect(status().isUnauthorized());
+    }
+
+    // A bump written by another instance only reaches this one's cache once the entry expires
+    @Test
+    void epochBumpedElsewhereIsSeenAfterTtl() throws Exception {
+        String issuedBefore = token(user);
+        summary(issuedBefore).andExpect(status().isOk());
+
+        testData.jdbc().update("UPDATE users SET token_epoch = token_epoch + 1 WHERE id = ?", user.getId());
+        Thread.sleep(1100);
+
+        summary(issuedBefore).andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions summary(String token) throws Exception {
+        return mockMvc.perform(get("/api/tasks/summary").header("Authorization", "Bearer " + token));
+    }
+
+    private String token(User user) {
+        return jwtService.generateToken(testData.principal(user));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.todoapplication.security;
+
+import com.example.todoapplication.model.ERole;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Principals are cached by username, so every write that changes what a principal holds has to evict it:
+// the very next request with the same token must see the new roles, name or deletion.
+@PostgresIntegrationTest
+class UserDetailsCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    private String adminToken;
+    private User user;
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        adminToken = jwtService.generateToken(testData.principal(testData.user("cacheadmin", ERole.ROLE_ADMIN)));
+        user = testData.user("cacheuser");
+        userToken = jwtService.generateToken(testData.principal(user));
+    }
+
+    @Test
+    void roleUpdateIsSeenByTheNextRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks/summary").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+        assertThat(userDetailsService.loadUserByUsername("cacheuser").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+
+        mockMvc.perform(patch("/api/users/{id}/role", user.getId()).param("newRole", "admin")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+        assertThat(userDetailsService.loadUserByUsername("cacheuser").getAuthorities())
+                .extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void renamedUserIsNotServedUnderTheOldName() throws Exception {
+        mockMvc.perform(get("/api/tasks/summary").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/users/{id}", user.getId()).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"cacherenamed\"}")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/tasks/summary").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deletedUserIsNotServedFromTheCache() throws Exception {
+        mockMvc.perform(get("/api/tasks/summary").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/users/{id}", user.getId()).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isAccepted());
+
+        mockMvc.perform(get("/api/tasks/summary").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isUnauthorized());
+    }
+}
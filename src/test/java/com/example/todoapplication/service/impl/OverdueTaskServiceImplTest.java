@@ -0,0 +1,113 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.event.TasksOverdueEvent;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.TaskRepository.OverdueTaskView;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the scan with a batch size of 2 so that a handful of tasks exercises the batching loop
+@PostgresIntegrationTest
+class OverdueTaskServiceImplTest {
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDate today = LocalDate.now();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> events = new ArrayList<>();
+    private OverdueTaskServiceImpl scanner;
+    private final List<Long> overdueIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        scanner = new OverdueTaskServiceImpl(taskRepository, jdbcTemplate, transactionManager, events::add,
+                meterRegistry, true, 2);
+        User owner = testData.user("late");
+        for (int i = 1; i <= 5; i++) {
+            overdueIds.add(testData.task(owner, "Overdue " + i, false, today.minusDays(i)).getId());
+        }
+        testData.task(owner, "Done anyway", true, today.minusDays(1));
+        testData.task(owner, "Due today", false, today);
+        testData.task(owner, "Undated", false, null);
+        Task reported = testData.task(owner, "Reported before", false, today.minusDays(2));
+        jdbcTemplate.update("UPDATE tasks SET overdue_notified = true WHERE id = ?", reported.getId());
+    }
+
+    @Test
+    void scanMarksOverdueTasksInBatchesAndReportsEachBatch() {
+        assertThat(scanner.scanOverdueTasks()).isEqualTo(5);
+
+        // 2 + 2 + 1: the short batch ends the scan
+        assertThat(events).hasSize(3).allSatisfy(event -> assertThat(event).isInstanceOf(TasksOverdueEvent.class));
+        assertThat(events.stream()
+                .flatMap(event -> ((TasksOverdueEvent) event).getTasks().stream())
+                .map(OverdueTaskView::getId))
+                .containsExactlyInAnyOrderElementsOf(overdueIds);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM tasks WHERE overdue_notified AND title LIKE 'Overdue%'",
+                Long.class)).containsExactlyInAnyOrderElementsOf(overdueIds);
+
+        assertThat(meterRegistry.get("tasks.overdue.marked").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("tasks.overdue.scan.batch.size").summary().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("tasks.overdue.scan.batch.size").summary().max()).isEqualTo(2);
+        assertThat(meterRegistry.get("tasks.overdue.scan").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tasksAreReportedOnlyOnce() {
+        scanner.scanOverdueTasks();
+        events.clear();
+
+        assertThat(scanner.scanOverdueTasks()).isZero();
+        assertThat(events).isEmpty();
+        assertThat(meterRegistry.get("tasks.overdue.marked").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("tasks.overdue.scan").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void tasksOfDeletedUsersAreLeftForThePurge() {
+        User departed = testData.user("departed");
+        Task orphan = testData.task(departed, "Orphan", false, today.minusDays(1));
+        jdbcTemplate.update("UPDATE users SET deleted_at = now() WHERE id = ?", departed.getId());
+
+        assertThat(scanner.scanOverdueTasks()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT overdue_notified FROM tasks WHERE id = ?", Boolean.class,
+                orphan.getId())).isFalse();
+    }
+
+    @Test
+    void disabledScanDoesNothing() {
+        OverdueTaskServiceImpl disabled = new OverdueTaskServiceImpl(taskRepository, jdbcTemplate, transactionManager,
+                events::add, meterRegistry, false, 2);
+
+        assertThat(disabled.scanOverdueTasks()).isZero();
+        assertThat(events).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE overdue_notified", Long.class))
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.repository.RefreshTokenRepository;
+import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.security.JwtService;
+import com.example.todoapplication.service.RefreshTokenService;
+import com.example.todoapplication.sql.SqlStatistics;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+import static com.example.todoapplication.sql.SqlBudget.measure;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Refresh tokens are single use: /api/auth/refresh consumes the presented token and issues a new one, and
+// only SHA-256 hashes are stored.
+@PostgresIntegrationTest
+class RefreshTokenServiceImplTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String refreshToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        testData.reset();
+        mockMvc.perform(post("/api/auth/signup").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"refresher\",\"email\":\"refresher@example.com\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk());
+        String signin = mockMvc.perform(post("/api/auth/signin").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"refresher\",\"password\":\"secret123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        refreshToken = JsonPath.read(signin, "$.refreshToken");
+    }
+
+    @Test
+    void refreshRotatesTheToken() throws Exception {
+        String rotated = refreshToken(refresh(refreshToken)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.username").value("refresher")));
+
+        assertThat(rotated).isNotEqualTo(refreshToken);
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+        refresh(rotated).andExpect(status().isOk());
+    }
+
+    @Test
+    void rotatedTokenCannotBeReused() throws Exception {
+        String rotated = refreshToken(refresh(refreshToken).andExpect(status().isOk()));
+
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+        // The failed reuse leaves the current token alone
+        refresh(rotated).andExpect(status().isOk());
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        testData.jdbc().update("UPDATE refresh_tokens SET expires_at = now() - interval '1 minute'");
+
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void onlyTheHashIsStored() throws Exception {
+        List<String> stored = testData.jdbc().queryForList("SELECT token_hash FROM refresh_tokens", String.class);
+
+        assertThat(stored).containsExactly(HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8))));
+        refresh(stored.get(0)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void expiredTokensArePurgedInBatches() throws Exception {
+        Long userId = userRepository.findByUsername("refresher").orElseThrow().getId();
+        for (int i = 0; i < 4; i++) {
+            refreshTokenService.createRefreshToken(userId);
+        }
+        testData.jdbc().update("UPDATE refresh_tokens SET expires_at = now() - interval '1 day'");
+        refreshTokenService.createRefreshToken(userId);
+        RefreshTokenServiceImpl purger = new RefreshTokenServiceImpl(refreshTokenRepository, userRepository,
+                jwtService, transactionManager, Duration.ofDays(7), 2);
+
+        int[] purged = new int[1];
+        SqlStatistics statistics = measure(() -> purged[0] = purger.purgeExpiredTokens());
+
+        assertThat(purged[0]).isEqualTo(5);
+        // 2 + 2 + 1: the short batch ends the loop
+        assertThat(statistics.getStatements()).isEqualTo(3);
+        assertThat(refreshTokenRepository.count()).isEqualTo(1);
+    }
+
+    private ResultActions refresh(String token) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + token + "\"}"));
+    }
+
+    private static String refreshToken(ResultActions result) throws Exception {
+        return JsonPath.read(result.andReturn().getResponse().getContentAsString(), "$.refreshToken");
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.dto.response.TaskResponse;
+import com.example.todoapplication.version.TaskVersionTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskListCacheTest {
+    private final TaskVersionTracker versions = new TaskVersionTracker();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskListCache cache = new TaskListCache(versions, 1_000, meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void rereadsAreServedFromTheCacheUntilTheUsersVersionChanges() {
+        assertThat(cache.get(1L, this::load)).hasSize(1);
+        assertThat(cache.get(1L, this::load)).hasSize(1);
+        assertThat(loads).hasValue(1);
+
+        versions.bump(2L);
+        assertThat(cache.get(1L, this::load)).hasSize(1);
+        assertThat(loads).hasValue(1);
+
+        versions.bump(1L);
+        assertThat(cache.getIfFresh(1L)).isNull();
+        assertThat(cache.get(1L, this::load)).hasSize(1);
+        assertThat(loads).hasValue(2);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userTasks").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userTasks").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void listLoadedBeforeACommittedWriteIsNotServedAfterIt() {
+        // The write commits while the list is being read, so the loader may have seen the old rows
+        cache.get(1L, userId -> {
+            versions.bump(userId);
+            return load(userId);
+        });
+
+        cache.get(1L, this::load);
+        assertThat(loads).hasValue(2);
+    }
+
+    private List<TaskResponse> load(Long userId) {
+        loads.incrementAndGet();
+        return List.of(new TaskResponse(loads.longValue(), "Task", null, false, null, null, null, userId, "owner", 0L));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.dto.response.TaskSummaryResponse;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.service.TaskService;
+import com.example.todoapplication.service.TaskSummaryService;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The counters are only ever changed by deltas, so any lost or doubled update under concurrency shows up
+// as a difference from counting the tasks table directly.
+@PostgresIntegrationTest
+class TaskSummaryServiceImplTest {
+    private static final int THREADS = 8;
+    private static final int ITERATIONS = 25;
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+
+    private final LocalDate today = LocalDate.now();
+    private User owner;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        owner = testData.user("counted");
+        tasks = List.of(
+                testData.task(owner, "Due today", false, today),
+                testData.task(owner, "Overdue", false, today.minusDays(1)),
+                testData.task(owner, "Due later", true, today.plusDays(3)),
+                testData.task(owner, "Undated", false, null));
+    }
+
+    @Test
+    void concurrentTogglesKeepTheCountersExact() throws Exception {
+        // The first writes also race to backfill the counters for these pre-existing tasks
+        runConcurrently((thread, i) -> {
+            Task task = tasks.get((thread + i) % tasks.size());
+            if (i % 3 == 0) {
+                taskService.setTaskCompleted(task.getId(), owner.getId(), (thread + i) % 2 == 0);
+            } else {
+                taskService.toggleTaskCompletion(task.getId(), owner.getId());
+            }
+        });
+
+        assertCountersMatchTasks();
+    }
+
+    @Test
+    void concurrentTogglesOfOneTaskKeepTheCountersExact() throws Exception {
+        Task task = tasks.get(0);
+        runConcurrently((thread, i) -> taskService.toggleTaskCompletion(task.getId(), owner.getId()));
+
+        // An even number of toggles in total: back where it started
+        assertThat(taskService.findById(task.getId()).orElseThrow().isCompleted()).isFalse();
+        assertCountersMatchTasks();
+    }
+
+    private void assertCountersMatchTasks() {
+        TaskSummaryResponse summary = taskSummaryService.getSummary(owner.getId());
+        var expected = testData.jdbc().queryForMap("SELECT COUNT(*) AS total, "
+                + "COUNT(*) FILTER (WHERE completed) AS completed, "
+                + "COUNT(*) FILTER (WHERE NOT completed AND due_date < ?) AS overdue, "
+                + "COUNT(*) FILTER (WHERE NOT completed AND due_date = ?) AS due_today "
+                + "FROM tasks WHERE user_id = ?", today, today, owner.getId());
+
+        assertThat(summary.getTotal()).isEqualTo(expected.get("total"));
+        assertThat(summary.getCompleted()).isEqualTo(expected.get("completed"));
+        assertThat(summary.getOverdue()).isEqualTo(expected.get("overdue"));
+        assertThat(summary.getDueToday()).isEqualTo(expected.get("due_today"));
+        // The single-statement toggle leaves emptied buckets behind as zero rows, which reads ignore
+        assertThat(testData.jdbc().queryForList("SELECT due_date, open_count FROM task_due_buckets "
+                + "WHERE user_id = ? AND open_count <> 0 ORDER BY due_date", owner.getId()))
+                .isEqualTo(testData.jdbc().queryForList("SELECT due_date, COUNT(*) AS open_count FROM tasks "
+                        + "WHERE user_id = ? AND NOT completed AND due_date IS NOT NULL "
+                        + "GROUP BY due_date ORDER BY due_date", owner.getId()));
+    }
+
+    private void runConcurrently(Work work) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        work.run(thread, i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        void run(int thread, int iteration);
+    }
+}
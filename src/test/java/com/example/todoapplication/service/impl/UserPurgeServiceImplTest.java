@@ -0,0 +1,113 @@
+package com.example.todoapplication.service.impl;
+
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.repository.RefreshTokenRepository;
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.service.RefreshTokenService;
+import com.example.todoapplication.service.TaskSummaryService;
+import com.example.todoapplication.service.UserService;
+import com.example.todoapplication.support.PostgresIntegrationTest;
+import com.example.todoapplication.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Purges with a task batch size of 2 so that five tasks take three chunks
+@PostgresIntegrationTest
+class UserPurgeServiceImplTest {
+
+    @Autowired
+    private TestData testData;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TaskSummaryService taskSummaryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserPurgeServiceImpl purger;
+    private User deleted;
+    private User kept;
+
+    @BeforeEach
+    void setUp() {
+        testData.reset();
+        purger = new UserPurgeServiceImpl(userRepository, taskRepository, refreshTokenRepository,
+                taskSummaryService, transactionManager, meterRegistry, 2, 100);
+        deleted = testData.user("leaving");
+        kept = testData.user("staying");
+        for (int i = 0; i < 5; i++) {
+            testData.task(deleted, "Leaving " + i, i % 2 == 0, LocalDate.now().plusDays(i));
+        }
+        testData.task(kept, "Staying", false, LocalDate.now());
+        refreshTokenService.createRefreshToken(deleted.getId());
+        refreshTokenService.createRefreshToken(kept.getId());
+        taskSummaryService.getSummary(deleted.getId());
+        taskSummaryService.getSummary(kept.getId());
+    }
+
+    @Test
+    void purgeRemovesTheUserWithEverythingItOwns() {
+        userService.deleteUser(deleted.getId());
+        // Counters written for the user after the soft delete (e.g. by a write already in flight)
+        jdbc().update("INSERT INTO task_summaries (user_id, total, completed) VALUES (?, 5, 3)", deleted.getId());
+        jdbc().update("INSERT INTO task_due_buckets (user_id, due_date, open_count) VALUES (?, ?, 1)",
+                deleted.getId(), LocalDate.now().plusDays(1));
+
+        assertThat(purger.purgeDeletedUsers()).isEqualTo(1);
+
+        for (String table : new String[]{"users", "tasks", "refresh_tokens", "task_summaries", "task_due_buckets"}) {
+            String owner = table.equals("users") ? "id" : "user_id";
+            assertThat(count(table, owner, deleted)).as("%s of the purged user", table).isZero();
+            assertThat(count(table, owner, kept)).as("%s of the remaining user", table).isPositive();
+        }
+        assertThat(jdbc().queryForObject("SELECT COUNT(*) FROM user_roles WHERE user_id = ?", Long.class,
+                deleted.getId())).isZero();
+        assertThat(meterRegistry.get("users.purge.tasks").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("users.purge.chunk").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("users.purge.users").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeLeavesActiveUsersAlone() {
+        assertThat(purger.purgeDeletedUsers()).isZero();
+
+        assertThat(count("users", "id", deleted)).isEqualTo(1);
+        assertThat(count("tasks", "user_id", deleted)).isEqualTo(5);
+        assertThat(count("task_summaries", "user_id", deleted)).isEqualTo(1);
+    }
+
+    private long count(String table, String ownerColumn, User user) {
+        return jdbc().queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + ownerColumn + " = ?",
+                Long.class, user.getId());
+    }
+
+    private JdbcTemplate jdbc() {
+        return testData.jdbc();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.todoapplication.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+// Statement budgets for tests: measure(...) around repository or service calls (or a whole MockMvc
+// perform), statementsAtMost(...) as a MockMvc expectation on the request SqlStatisticsFilter measured.
+// Failures list the SQL that ran, which usually points straight at the lazy load behind an N+1.
+public final class SqlBudget {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private SqlBudget() {
+    }
+
+    public static SqlStatistics measure(Action action) throws Exception {
+        SqlStatistics statistics = SqlStatistics.start();
+        try {
+            action.run();
+        } finally {
+            statistics.stop();
+        }
+        return statistics;
+    }
+
+    public static SqlStatistics assertStatementsAtMost(int maxStatements, Action action) throws Exception {
+        SqlStatistics statistics = measure(action);
+        check(maxStatements, statistics);
+        return statistics;
+    }
+
+    public static ResultMatcher statementsAtMost(int maxStatements) {
+        return result -> {
+            Object statistics = result.getRequest().getAttribute(SqlStatistics.REQUEST_ATTRIBUTE);
+            if (!(statistics instanceof SqlStatistics requestStatistics)) {
+                throw new AssertionError("Request was not measured; is SqlStatisticsFilter registered?");
+            }
+            check(maxStatements, requestStatistics);
+        };
+    }
+
+    private static void check(int maxStatements, SqlStatistics statistics) {
+        if (statistics.getStatements() > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements but "
+                    + statistics.getStatements() + " ran:\n  " + String.join("\n  ", statistics.getSql()));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.todoapplication.support;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Full application against an embedded PostgreSQL, for code that relies on native PostgreSQL SQL.
+// The background purge and overdue scan run once at startup only, so tests drive them explicitly. SQL
+// statistics are on so that request statement budgets can be asserted.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.users.purge.interval=PT24H",
+        "app.tasks.overdue.scan-interval=PT24H",
+        "app.sql-stats.enabled=true"
+})
+@AutoConfigureMockMvc
+@ContextConfiguration(initializers = EmbeddedPostgresInitializer.class)
+@Import(TestData.class)
+public @interface PostgresIntegrationTest {
+}
@@ -0,0 +1,79 @@
+package com.example.todoapplication.support;
+
+import com.example.todoapplication.model.ERole;
+import com.example.todoapplication.model.Role;
+import com.example.todoapplication.model.Task;
+import com.example.todoapplication.model.User;
+import com.example.todoapplication.repository.RoleRepository;
+import com.example.todoapplication.repository.TaskRepository;
+import com.example.todoapplication.repository.UserRepository;
+import com.example.todoapplication.security.UserDetailsCache;
+import com.example.todoapplication.security.UserDetailsImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+// Fixtures for @PostgresIntegrationTest. reset() empties every table but roles without restarting the id
+// sequences: summaries, caches, the search index and token epochs are kept in memory per user id and
+// outlive a single test, so ids must never be handed out twice.
+public class TestData {
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final TaskRepository taskRepository;
+    private final UserDetailsCache userDetailsCache;
+
+    public TestData(JdbcTemplate jdbcTemplate, RoleRepository roleRepository, UserRepository userRepository,
+                    TaskRepository taskRepository, UserDetailsCache userDetailsCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.roleRepository = roleRepository;
+        this.userRepository = userRepository;
+        this.taskRepository = taskRepository;
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    public void reset() {
+        // Principals are cached by username, and a later test may sign up the same name under a new id
+        jdbcTemplate.queryForList("SELECT username FROM users", String.class).forEach(userDetailsCache::invalidate);
+        jdbcTemplate.execute("TRUNCATE tasks, task_summaries, task_due_buckets, refresh_tokens, user_roles, users CASCADE");
+        for (ERole name : ERole.values()) {
+            if (!roleRepository.existsByName(name)) {
+                roleRepository.save(new Role(name));
+            }
+        }
+    }
+
+    // The password is stored as given, so these users can't sign in; use /api/auth/signup for that
+    public User user(String username, ERole... roles) {
+        User user = new User(username, username + "@example.com", "secret");
+        Set<Role> assigned = new HashSet<>();
+        for (ERole role : roles.length == 0 ? new ERole[]{ERole.ROLE_USER} : roles) {
+            assigned.add(roleRepository.findByName(role).orElseThrow());
+        }
+        user.setRoles(assigned);
+        return userRepository.save(user);
+    }
+
+    // Written straight to the tables, bypassing the summary counters (like rows that predate them).
+    // Past due dates are allowed here, unlike through the API.
+    public Task task(User owner, String title, boolean completed, LocalDate dueDate) {
+        Task task = new Task(title, "About " + title, completed);
+        task.setUser(owner);
+        task = taskRepository.save(task);
+        if (dueDate != null) {
+            jdbcTemplate.update("UPDATE tasks SET due_date = ? WHERE id = ?", dueDate, task.getId());
+            task.setDueDate(dueDate);
+        }
+        return task;
+    }
+
+    public UserDetailsImpl principal(User user) {
+        return UserDetailsImpl.build(userRepository.findWithRolesById(user.getId()).orElseThrow());
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbcTemplate;
+    }
+}